@@ -0,0 +1,33 @@
+package com.example.bankaccount.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.bankaccount.events.SseAccountEventSink;
+
+@RestController
+@RequestMapping("/accounts")
+public class AccountEventController {
+
+    private SseAccountEventSink sseAccountEventSink;
+
+    public AccountEventController(SseAccountEventSink sseAccountEventSink) {
+        this.sseAccountEventSink = sseAccountEventSink;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeAll(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return sseAccountEventSink.subscribe(null, lastEventId);
+    }
+
+    @GetMapping(path = "/{accountNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String accountNumber,
+                                @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return sseAccountEventSink.subscribe(accountNumber, lastEventId);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bankaccount.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bankaccount.exceptions.AccountException;
+import com.example.bankaccount.exceptions.InvalidAccountException;
+import com.example.bankaccount.exceptions.ScheduledTransferNotFoundException;
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.service.ScheduledTransferService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/scheduled-transfers")
+public class ScheduledTransferController {
+
+    private ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> scheduleTransfer(@Valid @RequestBody ScheduledTransfer scheduledTransferData) {
+        try {
+            ScheduledTransfer savedTransfer = scheduledTransferService.scheduleTransfer(scheduledTransferData);
+            return new ResponseEntity<>(savedTransfer, HttpStatus.CREATED);
+        } catch (InvalidAccountException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (AccountException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getScheduledTransfer(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(scheduledTransferService.getScheduledTransfer(id));
+        } catch (ScheduledTransferNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelScheduledTransfer(@PathVariable Long id) {
+        try {
+            ScheduledTransfer scheduledTransfer = scheduledTransferService.cancelScheduledTransfer(id);
+            return ResponseEntity.ok("Scheduled transfer status: " + scheduledTransfer.getStatus());
+        } catch (ScheduledTransferNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
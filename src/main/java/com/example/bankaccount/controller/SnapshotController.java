@@ -0,0 +1,48 @@
+package com.example.bankaccount.controller;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.bankaccount.exceptions.SnapshotException;
+import com.example.bankaccount.service.LedgerSnapshotService;
+
+@RestController
+@RequestMapping("/snapshots")
+public class SnapshotController {
+
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    private Path snapshotPath;
+
+    public SnapshotController(LedgerSnapshotService ledgerSnapshotService,
+                              @Value("${bankaccount.snapshot.path}") Path snapshotPath) {
+        this.ledgerSnapshotService = ledgerSnapshotService;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> exportSnapshot() {
+        try {
+            long rows = ledgerSnapshotService.exportSnapshot(snapshotPath);
+            return ResponseEntity.ok("Snapshot exported. Accounts: " + rows);
+        } catch (SnapshotException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/restore")
+    public ResponseEntity<?> importSnapshot() {
+        try {
+            long rows = ledgerSnapshotService.importSnapshot(snapshotPath);
+            return ResponseEntity.ok("Snapshot restored. Accounts: " + rows);
+        } catch (SnapshotException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
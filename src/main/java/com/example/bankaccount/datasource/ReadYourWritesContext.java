@@ -0,0 +1,53 @@
+package com.example.bankaccount.datasource;
+
+/**
+ * Per-request commit watermarks used for read-your-writes routing. A client echoes back the
+ * watermark of its last write, and read-only transactions only go to the replica once the
+ * replica has applied at least that event.
+ */
+public final class ReadYourWritesContext {
+
+    public static final String HEADER = "X-Commit-Watermark";
+
+    private static final ThreadLocal<Watermarks> current = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void begin(long requiredWatermark) {
+        current.set(new Watermarks(requiredWatermark));
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    public static long requiredWatermark() {
+        Watermarks watermarks = current.get();
+        return watermarks == null ? 0 : watermarks.required;
+    }
+
+    /**
+     * Records an event written by the current request. Ignored outside of a request, e.g. on scheduler threads.
+     */
+    public static void recordWrite(long eventId) {
+        Watermarks watermarks = current.get();
+        if (watermarks != null) {
+            watermarks.written = Math.max(watermarks.written, eventId);
+        }
+    }
+
+    public static long writtenWatermark() {
+        Watermarks watermarks = current.get();
+        return watermarks == null ? 0 : watermarks.written;
+    }
+
+    private static class Watermarks {
+        private final long required;
+        private long written;
+
+        private Watermarks(long required) {
+            this.required = required;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bankaccount.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Picks up the commit watermark sent by the client and scopes it to the current request.
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long required = 0;
+        String header = request.getHeader(ReadYourWritesContext.HEADER);
+        if (header != null) {
+            try {
+                required = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                // Unknown watermark, fall back to eventually consistent reads
+            }
+        }
+        ReadYourWritesContext.begin(required);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesContext.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bankaccount.datasource;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Hands the watermark of the request's last write back to the client, so it can be sent along
+ * with following reads to see its own writes.
+ */
+@ControllerAdvice
+public class ReadYourWritesResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        long written = ReadYourWritesContext.writtenWatermark();
+        if (written > 0) {
+            response.getHeaders().set(ReadYourWritesContext.HEADER, String.valueOf(written));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankaccount.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a read-only transactional method into being served by the read replica. Only tables the
+ * replica actually carries may be read inside such a method, every other read-only transaction
+ * stays on the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+}
@@ -0,0 +1,35 @@
+package com.example.bankaccount.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread as eligible for replica reads while a {@link ReplicaRead} method runs.
+ */
+@Aspect
+@Component
+public class ReplicaReadAspect {
+
+    private static final ThreadLocal<Boolean> active = new ThreadLocal<>();
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(active.get());
+    }
+
+    @Around("@annotation(com.example.bankaccount.datasource.ReplicaRead)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        Boolean previous = active.get();
+        active.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                active.remove();
+            } else {
+                active.set(previous);
+            }
+        }
+    }
+}
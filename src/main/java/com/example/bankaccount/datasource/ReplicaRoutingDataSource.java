@@ -0,0 +1,32 @@
+package com.example.bankaccount.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions of {@link ReplicaRead} methods to the replica when it has caught up
+ * with the caller's commit watermark, everything else goes to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is
+ * only fetched after the transaction has been marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private ReplicaWatermark replicaWatermark;
+
+    public ReplicaRoutingDataSource(ReplicaWatermark replicaWatermark) {
+        this.replicaWatermark = replicaWatermark;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !ReplicaReadAspect.isActive()) {
+            return Route.PRIMARY;
+        }
+        return replicaWatermark.isCaughtUpTo(ReadYourWritesContext.requiredWatermark()) ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.bankaccount.datasource;
+
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks which account events have been applied on the read replica. Event ids are assigned at
+ * insert time, so they can be applied out of order when transactions commit the other way round.
+ * The watermark therefore only covers the contiguous prefix of applied ids. Ids applied beyond
+ * that prefix are remembered individually until the gap below them is filled, or until it has
+ * been open for {@code gapTimeoutMs}, after which the missing ids are assumed to be rolled back.
+ * The gap timeout has to be longer than the longest write transaction.
+ *
+ * <p>Stays unseeded until the replica has its initial copy, which keeps all reads on the primary.
+ * {@link #markUnseeded()} does the same while the replica is copied again, ids applied meanwhile
+ * keep advancing the watermark so it is current as soon as the copy is seeded again.
+ */
+public class ReplicaWatermark {
+
+    private final long gapTimeoutMs;
+
+    private final LongSupplier clock;
+
+    // All fields below are guarded by this
+    private final TreeMap<Long, Long> appliedAboveContiguous = new TreeMap<>(); // id -> time applied
+
+    private long contiguous = -1;
+
+    private boolean suspended;
+
+    public ReplicaWatermark(long gapTimeoutMs) {
+        this(gapTimeoutMs, System::currentTimeMillis);
+    }
+
+    ReplicaWatermark(long gapTimeoutMs, LongSupplier clock) {
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Marks the replica as seeded. Ids applied before this stay remembered and join the prefix.
+     */
+    public synchronized void markSeeded() {
+        markSeeded(0);
+    }
+
+    /**
+     * Marks the replica as seeded with every id up to {@code appliedUpTo} already applied, for
+     * replicas that start out with a history of events.
+     */
+    public synchronized void markSeeded(long appliedUpTo) {
+        contiguous = Math.max(contiguous, appliedUpTo);
+        suspended = false;
+        compact();
+    }
+
+    /**
+     * Sends all reads to the primary until {@link #markSeeded()} is called again.
+     */
+    public synchronized void markUnseeded() {
+        suspended = true;
+    }
+
+    public synchronized void applied(long eventId) {
+        if (contiguous < 0 || eventId > contiguous) {
+            appliedAboveContiguous.putIfAbsent(eventId, clock.getAsLong());
+        }
+        compact();
+    }
+
+    public synchronized long contiguous() {
+        compact();
+        return contiguous;
+    }
+
+    public synchronized boolean isCaughtUpTo(long requiredEventId) {
+        if (contiguous < 0 || suspended) {
+            return false;
+        }
+        compact();
+        // A client's earlier writes always become visible before its later ones, so having applied
+        // the required id itself is enough even when an unrelated lower id is still outstanding
+        return requiredEventId <= contiguous || appliedAboveContiguous.containsKey(requiredEventId);
+    }
+
+    private void compact() {
+        if (contiguous < 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        while (!appliedAboveContiguous.isEmpty()) {
+            long first = appliedAboveContiguous.firstKey();
+            long appliedAt = appliedAboveContiguous.get(first);
+            if (first <= contiguous + 1 || now - appliedAt >= gapTimeoutMs) {
+                contiguous = Math.max(contiguous, first);
+                appliedAboveContiguous.remove(first);
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bankaccount.datasource;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Advances the {@link ReplicaWatermark} when the replica is kept in sync by real database
+ * replication instead of the {@link ReplicationStandIn}. The outbox table has to be replicated
+ * along with the accounts: an event row that is visible on the replica means the transaction that
+ * wrote it, balance update included, has been applied there. Each poll reads the ids above the
+ * contiguous watermark, which also picks up transactions that committed out of id order.
+ * Reads stay on the primary until the first successful poll.
+ */
+@Component
+@ConditionalOnProperty(name = "bankaccount.replication.stand-in", havingValue = "false")
+public class ReplicaWatermarkPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaWatermarkPoller.class);
+
+    // Rows below the oldest one left on the replica were purged after being published, so applied
+    private static final String SELECT_OLDEST_ID = "SELECT COALESCE(MIN(id), 1) - 1 FROM account_events";
+
+    private static final String SELECT_APPLIED_IDS = "SELECT id FROM account_events WHERE id > ? ORDER BY id";
+
+    private JdbcTemplate replica;
+
+    private ReplicaWatermark replicaWatermark;
+
+    // Only touched by the scheduler thread
+    private boolean seeded;
+
+    private boolean failing;
+
+    public ReplicaWatermarkPoller(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                  ReplicaWatermark replicaWatermark) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replicaWatermark = replicaWatermark;
+    }
+
+    @Scheduled(fixedDelayString = "${bankaccount.replication.watermark-poll-ms:200}")
+    public void poll() {
+        try {
+            if (!seeded) {
+                Long oldest = replica.queryForObject(SELECT_OLDEST_ID, Long.class);
+                replicaWatermark.markSeeded(oldest == null ? 0 : oldest);
+                seeded = true;
+            }
+            List<Long> ids = replica.queryForList(SELECT_APPLIED_IDS, Long.class, replicaWatermark.contiguous());
+            for (Long id : ids) {
+                replicaWatermark.applied(id);
+            }
+        } catch (DataAccessException e) {
+            if (!failing) {
+                // Not seeded yet or not advancing, either way read-your-writes falls back to the primary
+                log.warn("Failed to read applied account events from the read replica", e);
+                failing = true;
+            }
+            return;
+        }
+        if (failing) {
+            log.info("Reading applied account events from the read replica again");
+            failing = false;
+        }
+    }
+}
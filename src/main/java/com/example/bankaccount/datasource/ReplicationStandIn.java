@@ -0,0 +1,250 @@
+package com.example.bankaccount.datasource;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankaccount.events.AccountEventSink;
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.snapshot.LedgerRestoredEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Local stand-in for database replication between the two H2 databases. Once the application
+ * is ready the replica table is created from the primary's own definition and the ledger is
+ * copied on a background thread, after which every relayed account event copies the current
+ * row of the affected account from the primary and is recorded in the {@link ReplicaWatermark}.
+ * A ledger restore starts the same copy again. While a copy runs all reads go to the primary,
+ * and events relayed meanwhile only note their account, which is copied once more before the
+ * watermark is seeded again. A copy that a newer restore has made obsolete stops at its next
+ * batch, but until then it shares the CPU and the primary with that restore, so restores
+ * issued back to back are slower than one on its own.
+ * <p>
+ * Only the {@code accounts} table is replicated, so only {@link ReplicaRead} methods that read
+ * accounts may be routed here. Disable with {@code bankaccount.replication.stand-in=false} when
+ * the replica is kept in sync by real database replication, {@link ReplicaWatermarkPoller} then
+ * advances the watermark instead.
+ */
+@Component
+@ConditionalOnProperty(name = "bankaccount.replication.stand-in", havingValue = "true", matchIfMissing = true)
+public class ReplicationStandIn implements AccountEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationStandIn.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final ExecutorService resyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-resync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    private TransactionTemplate replicaTransaction;
+
+    private ReplicaWatermark replicaWatermark;
+
+    // Built from the primary's columns when the replica table is created
+    private String selectAccount;
+
+    private String selectAccounts;
+
+    private String mergeAccount;
+
+    // Fields below are guarded by this
+    private boolean started;
+
+    private Set<String> touchedDuringResync; // set while a copy is running or after it failed
+
+    private int pendingResyncs;
+
+    public ReplicationStandIn(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                              @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                              ReplicaWatermark replicaWatermark) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replicaDataSource));
+        this.replicaWatermark = replicaWatermark;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        createReplicaTable();
+        started = true;
+        // Events relayed before this point are covered by the copy, later ones are noted until it is done
+        scheduleResync();
+    }
+
+    @EventListener
+    public synchronized void onLedgerRestored(LedgerRestoredEvent event) {
+        if (!started) {
+            return; // the initial copy has not been scheduled yet and will pick up the restored ledger
+        }
+        scheduleResync();
+    }
+
+    @Override
+    public synchronized void publish(AccountEvent event) {
+        if (!started) {
+            // The initial copy will pick up this change, it only has to count towards the watermark
+            replicaWatermark.applied(event.getId());
+            return;
+        }
+        if (touchedDuringResync != null) {
+            // The background copy may already be past this account, it is copied again once the copy is done
+            touchedDuringResync.add(event.getAccountNumber());
+            replicaWatermark.applied(event.getId());
+            return;
+        }
+        copyAccount(event.getAccountNumber());
+        replicaWatermark.applied(event.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resyncExecutor.shutdownNow();
+    }
+
+    private void scheduleResync() {
+        // Reads go to the primary until the copy is done, the replica holds no or old balances
+        replicaWatermark.markUnseeded();
+        if (touchedDuringResync == null) {
+            touchedDuringResync = new HashSet<>();
+        }
+        pendingResyncs++;
+        resyncExecutor.execute(this::resync);
+    }
+
+    private void resync() {
+        synchronized (this) {
+            if (pendingResyncs > 1) {
+                pendingResyncs--;
+                return; // restored again before this copy started, the queued copy covers both
+            }
+        }
+        long start = System.nanoTime();
+        long rows;
+        try {
+            rows = copyAllAccounts();
+        } catch (CancellationException e) {
+            synchronized (this) {
+                pendingResyncs--;
+            }
+            log.debug("Stopped copying the read replica, the ledger was restored again");
+            return;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingResyncs--;
+            }
+            // Stays unseeded, reads keep going to the primary until the next restore copies again
+            log.error("Failed to copy the ledger to the read replica, balance reads stay on the primary", e);
+            return;
+        }
+        synchronized (this) {
+            if (--pendingResyncs > 0) {
+                return; // restored again meanwhile, the queued copy seeds the replica
+            }
+            for (String accountNumber : touchedDuringResync) {
+                copyAccount(accountNumber);
+            }
+            touchedDuringResync = null;
+            replicaWatermark.markSeeded();
+        }
+        log.info("Copied {} accounts to the read replica in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void createReplicaTable() {
+        // Recreate the table from the primary's definition so the replica follows the Account mapping
+        List<String> script = primary.queryForList("SCRIPT NODATA NOSETTINGS TABLE accounts", String.class);
+        replica.execute("DROP TABLE IF EXISTS accounts");
+        for (String statement : script) {
+            if ((statement.startsWith("CREATE ") && !statement.startsWith("CREATE USER "))
+                    || statement.startsWith("ALTER TABLE ")) {
+                replica.execute(statement);
+            }
+        }
+
+        List<String> columns = primary.query("SELECT * FROM accounts WHERE 1=0", rs -> {
+            List<String> names = new ArrayList<>();
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                names.add(metaData.getColumnName(i));
+            }
+            return names;
+        });
+        String columnList = String.join(", ", columns);
+        selectAccounts = "SELECT " + columnList + " FROM accounts";
+        selectAccount = selectAccounts + " WHERE account_number = ?";
+        mergeAccount = "MERGE INTO accounts (" + columnList + ") KEY (account_number) VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    private void copyAccount(String accountNumber) {
+        List<Object[]> rows = primary.query(selectAccount, (rs, rowNum) -> row(rs), accountNumber);
+        for (Object[] row : rows) {
+            replica.update(mergeAccount, row);
+        }
+    }
+
+    private long copyAllAccounts() {
+        // No reads are routed to the replica while it is copied, so every batch can commit on its own
+        replica.update("TRUNCATE TABLE accounts");
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] rows = new long[1];
+        primary.query(selectAccounts, (RowCallbackHandler) rs -> {
+            batch.add(row(rs));
+            rows[0]++;
+            if (batch.size() == BATCH_SIZE) {
+                insertBatch(batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            insertBatch(batch);
+        }
+        return rows[0];
+    }
+
+    private void insertBatch(List<Object[]> batch) {
+        synchronized (this) {
+            if (pendingResyncs > 1) {
+                throw new CancellationException(); // a newer restore queued its own copy
+            }
+        }
+        replicaTransaction.executeWithoutResult(status -> replica.batchUpdate(mergeAccount, batch));
+        batch.clear();
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        Object[] row = new Object[rs.getMetaData().getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bankaccount.events;
+
+import com.example.bankaccount.model.AccountEvent;
+
+/**
+ * Destination for relayed outbox events. The relay hands events to every sink in
+ * sequence order, outside of any database transaction, and retries from the first
+ * failing event, so implementations must tolerate the occasional redelivery.
+ */
+public interface AccountEventSink {
+
+    void publish(AccountEvent event) throws Exception;
+}
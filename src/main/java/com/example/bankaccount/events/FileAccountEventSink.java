@@ -0,0 +1,48 @@
+package com.example.bankaccount.events;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.bankaccount.model.AccountEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends relayed events as JSON lines to a local file. Enabled by setting
+ * {@code bankaccount.events.file}, meant as a broker stand-in for local testing.
+ */
+@Component
+@ConditionalOnProperty(name = "bankaccount.events.file")
+public class FileAccountEventSink implements AccountEventSink {
+
+    private ObjectMapper objectMapper;
+
+    private BufferedWriter writer;
+
+    public FileAccountEventSink(ObjectMapper objectMapper, @Value("${bankaccount.events.file}") Path file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(AccountEvent event) throws IOException {
+        writer.write(objectMapper.writeValueAsString(event));
+        writer.newLine();
+        writer.flush();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.bankaccount.events;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
+
+/**
+ * Polls the outbox table and forwards unpublished events to all registered sinks. Each event
+ * gets its stream sequence the first time the relay sees it, so events are delivered in the
+ * order they became visible, even when their ids were assigned the other way round. Events that
+ * become visible in the same poll are ordered by id; the account service locks the account rows
+ * before inserting their events, so for any one account that is commit order as well.
+ * Delivery happens outside of the database transaction, published rows are purged after
+ * {@code bankaccount.events.retention-ms}.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private AccountEventRepo accountEventRepo;
+
+    private List<AccountEventSink> sinks;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long retentionMs;
+
+    private int batchSize;
+
+    private Long lastSequence; // only touched by the relay thread
+
+    public OutboxRelay(AccountEventRepo accountEventRepo, List<AccountEventSink> sinks,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${bankaccount.events.retention-ms:600000}") long retentionMs,
+                       @Value("${bankaccount.events.relay-batch-size:100}") int batchSize) {
+        this.accountEventRepo = accountEventRepo;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMs = retentionMs;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${bankaccount.events.relay-interval-ms:500}")
+    public void relay() {
+        // Keep going while pages come back full, otherwise a burst would build up a backlog
+        boolean more;
+        do {
+            more = relayBatch();
+        } while (more);
+    }
+
+    /**
+     * Relays one page of unpublished events.
+     *
+     * @return whether a full page was delivered, i.e. more events may be waiting
+     */
+    private boolean relayBatch() {
+        List<AccountEvent> batch = transactionTemplate.execute(status -> {
+            List<AccountEvent> events = accountEventRepo.findUnpublished(PageRequest.of(0, batchSize));
+            for (AccountEvent event : events) {
+                if (event.getSequence() == null) {
+                    event.setSequence(nextSequence());
+                }
+            }
+            return events;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return false;
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        for (AccountEvent event : batch) {
+            try {
+                for (AccountEventSink sink : sinks) {
+                    sink.publish(event);
+                }
+            } catch (Exception e) {
+                // Stop at the first failure so later events are never delivered ahead of it
+                log.warn("Failed to relay account event {}, retrying on next run", event.getId(), e);
+                break;
+            }
+            delivered.add(event.getId());
+        }
+
+        if (!delivered.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> accountEventRepo.markPublished(delivered));
+        }
+        return delivered.size() == batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${bankaccount.events.purge-interval-ms:60000}")
+    public void purge() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        Integer deleted = transactionTemplate.execute(status -> accountEventRepo.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.debug("Purged {} published account events", deleted);
+        }
+    }
+
+    private long nextSequence() {
+        if (lastSequence == null) {
+            lastSequence = accountEventRepo.findMaxSequence();
+        }
+        return ++lastSequence;
+    }
+}
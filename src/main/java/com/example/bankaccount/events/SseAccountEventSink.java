@@ -0,0 +1,259 @@
+package com.example.bankaccount.events;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
+import com.example.bankaccount.snapshot.LedgerRestoredEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embedded in-process broker that pushes relayed events to Server-Sent Events subscribers.
+ * {@link #publish} only queues the event, every subscriber has a bounded buffer that is drained
+ * on a fixed pool of {@code sse-sender-threads} workers, so a slow client never holds up the
+ * relay. A worker hands a subscriber back to the pool after {@value #DRAIN_BURST} events, so a
+ * busy subscriber cannot keep a worker to itself. A client that falls more than
+ * {@code buffer-size} events behind is disconnected.
+ * <p>
+ * A client reconnecting with {@code Last-Event-ID} first gets the retained events after that
+ * sequence from the outbox table, then the live stream. If events it missed were already purged
+ * it gets a {@value #RESET_EVENT} event instead, telling it to reload its state. The same event goes
+ * to every subscriber when the ledger is restored from a snapshot, and to clients reconnecting
+ * from a position before the latest restore.
+ */
+@Component
+public class SseAccountEventSink implements AccountEventSink {
+
+    static final String RESET_EVENT = "RESET";
+
+    private static final Logger log = LoggerFactory.getLogger(SseAccountEventSink.class);
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private static final int DRAIN_BURST = 100;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Stream position at the latest ledger restore, events up to here carry balances from before it
+    private final AtomicLong restoredAt = new AtomicLong(Long.MIN_VALUE);
+
+    private AccountEventRepo accountEventRepo;
+
+    private final ExecutorService senders;
+
+    private long timeoutMs;
+
+    private int bufferSize;
+
+    public SseAccountEventSink(AccountEventRepo accountEventRepo,
+                               @Value("${bankaccount.events.sse-timeout-ms:1800000}") long timeoutMs,
+                               @Value("${bankaccount.events.sse-buffer-size:1000}") int bufferSize,
+                               @Value("${bankaccount.events.sse-sender-threads:4}") int senderThreads) {
+        this.accountEventRepo = accountEventRepo;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a new subscriber. A {@code null} account number subscribes to all accounts, a
+     * {@code null} last event id starts at the live stream.
+     */
+    public SseEmitter subscribe(String accountNumber, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter, accountNumber, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        if (lastEventId != null) {
+            // Keep publish from draining until the replay is out, live events queue up meanwhile
+            subscription.draining.set(true);
+            subscriptions.add(subscription);
+            senders.execute(() -> replayThenDrain(subscription, lastEventId));
+        } else {
+            subscriptions.add(subscription);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(AccountEvent event) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accountNumber != null && !subscription.accountNumber.equals(event.getAccountNumber())) {
+                continue;
+            }
+            enqueue(subscription, event);
+        }
+    }
+
+    /**
+     * A restore replaces every balance without going through the outbox, so all subscribers,
+     * whatever account they follow, are told to reload once the events queued before it are out.
+     */
+    @EventListener
+    public void onLedgerRestored(LedgerRestoredEvent event) {
+        long newest = accountEventRepo.findMaxSequence();
+        restoredAt.set(newest);
+        Reset reset = new Reset(newest, "Ledger restored from snapshot " + event.file().getFileName());
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, reset);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscription subscription, Object item) {
+        if (!subscription.queue.offer(item)) {
+            // Too far behind, drop the client rather than buffering without bound
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(new IOException("Subscriber too slow"));
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    private void replayThenDrain(Subscription subscription, long lastEventId) {
+        try {
+            replay(subscription, lastEventId);
+        } catch (IOException | IllegalStateException e) {
+            // Subscriber went away
+            subscriptions.remove(subscription);
+            subscription.queue.clear();
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay account events after {}", lastEventId, e);
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return;
+        }
+        drain(subscription);
+    }
+
+    private void replay(Subscription subscription, long lastEventId) throws IOException {
+        long newest = accountEventRepo.findMaxSequence();
+        if (lastEventId > newest) {
+            // Not an id of this stream, e.g. the outbox was wiped
+            reset(subscription, newest, "Events after " + lastEventId + " are no longer retained");
+            return;
+        }
+        if (lastEventId <= restoredAt.get()) {
+            // Replaying would hand the client balances from before the restore
+            reset(subscription, newest, "Ledger restored after event " + lastEventId);
+            return;
+        }
+        long cursor = lastEventId;
+        List<AccountEvent> page;
+        boolean firstPage = true;
+        do {
+            page = accountEventRepo.findSequencedAfter(cursor, subscription.accountNumber,
+                    PageRequest.of(0, REPLAY_PAGE_SIZE));
+            if (firstPage) {
+                // Checked after reading, so a purge racing the query is noticed as well
+                Long oldest = accountEventRepo.findMinSequence();
+                if (oldest != null && oldest > lastEventId + 1) {
+                    reset(subscription, newest, "Events after " + lastEventId + " are no longer retained");
+                    return;
+                }
+                firstPage = false;
+            }
+            for (AccountEvent event : page) {
+                send(subscription, event);
+                cursor = event.getSequence();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        subscription.sentUpTo.set(cursor);
+    }
+
+    private void reset(Subscription subscription, long newest, String reason) throws IOException {
+        subscription.emitter.send(SseEmitter.event()
+                .id(String.valueOf(newest))
+                .name(RESET_EVENT)
+                .data(reason));
+        // Everything up to here is covered by the state the client reloads
+        subscription.sentUpTo.set(newest);
+    }
+
+    private void send(Subscription subscription, AccountEvent event) throws IOException {
+        subscription.emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(event.getType().name())
+                .data(event));
+    }
+
+    private void drain(Subscription subscription) {
+        int handled = 0;
+        while (true) {
+            Object item;
+            while (handled < DRAIN_BURST && (item = subscription.queue.poll()) != null) {
+                handled++;
+                try {
+                    if (item instanceof Reset reset) {
+                        reset(subscription, reset.sequence(), reset.reason());
+                        continue;
+                    }
+                    AccountEvent event = (AccountEvent) item;
+                    if (event.getSequence() <= subscription.sentUpTo.get()) {
+                        continue; // already sent by the replay, or covered by a reset
+                    }
+                    send(subscription, event);
+                } catch (IOException | IllegalStateException e) {
+                    // Subscriber went away
+                    subscriptions.remove(subscription);
+                    subscription.queue.clear();
+                    return;
+                }
+            }
+            if (handled == DRAIN_BURST) {
+                // Still draining, give the other subscribers waiting for a worker a turn first
+                senders.execute(() -> drain(subscription));
+                return;
+            }
+            subscription.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared would otherwise be stranded
+            if (subscription.queue.isEmpty() || !subscription.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // Queued behind the events a subscriber has not been sent yet
+    private record Reset(long sequence, String reason) {
+    }
+
+    // The queue holds AccountEvents and Resets
+    private record Subscription(SseEmitter emitter, String accountNumber, BlockingQueue<Object> queue,
+                                AtomicBoolean draining, AtomicLong sentUpTo) {
+
+        private Subscription(SseEmitter emitter, String accountNumber, BlockingQueue<Object> queue) {
+            this(emitter, accountNumber, queue, new AtomicBoolean(), new AtomicLong(Long.MIN_VALUE));
+        }
+    }
+}
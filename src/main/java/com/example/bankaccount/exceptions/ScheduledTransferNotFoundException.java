@@ -0,0 +1,7 @@
+package com.example.bankaccount.exceptions;
+
+public class ScheduledTransferNotFoundException extends AccountException {
+    public ScheduledTransferNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bankaccount.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Outbox row describing a single balance mutation. Rows are written in the same
+ * transaction as the {@link Account} update and relayed to the event sinks afterwards.
+ * The id is assigned at insert time, so it does not follow commit order; the relay assigns
+ * {@code sequence} when it first picks an event up, and that is the order of the event stream.
+ */
+@Entity
+@Table(name = "account_events", indexes = {
+        @Index(name = "idx_account_events_published", columnList = "published, id"),
+        @Index(name = "idx_account_events_sequence", columnList = "event_sequence")
+})
+public class AccountEvent {
+
+    public enum Type {
+        ACCOUNT_CREATED,
+        DEPOSIT,
+        TRANSFER_DEBIT,
+        TRANSFER_CREDIT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_sequence")
+    private Long sequence; // assigned by the relay, in commit order
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private String accountNumber;
+
+    private String counterpartyAccountNumber; // only set for transfers
+
+    private BigDecimal amount;
+
+    private BigDecimal balance; // balance of the account after the mutation
+
+    private Instant createdAt;
+
+    private boolean published;
+
+    // Standard constructor
+    public AccountEvent() {
+    }
+
+    // Constructor with parameters
+    public AccountEvent(Type type, String accountNumber, String counterpartyAccountNumber, BigDecimal amount, BigDecimal balance) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+        this.amount = amount;
+        this.balance = balance;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getCounterpartyAccountNumber() {
+        return counterpartyAccountNumber;
+    }
+
+    public void setCounterpartyAccountNumber(String counterpartyAccountNumber) {
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @JsonIgnore
+    public boolean isPublished() {
+        return published;
+    }
+
+    public void setPublished(boolean published) {
+        this.published = published;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.bankaccount.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A future-dated transfer or standing order. {@code nextExecutionAt} is the due time of occurrence
+ * number {@code occurrence}, counted from {@code firstExecutionAt}; recurring transfers move both
+ * forward after every execution.
+ */
+@Entity
+@Table(name = "scheduled_transfers", indexes = @Index(name = "idx_scheduled_transfers_due", columnList = "status, nextExecutionAt"))
+public class ScheduledTransfer {
+
+    public enum Frequency {
+        ONCE,
+        DAILY,
+        WEEKLY,
+        MONTHLY;
+
+        /**
+         * Due time of occurrence {@code n}, counted from the first occurrence at {@code anchor}.
+         * Always computed from the anchor, so a monthly order on the 31st returns to the 31st
+         * after shorter months instead of drifting. Returns {@code null} past the last occurrence.
+         */
+        public Instant occurrence(Instant anchor, long n) {
+            switch (this) {
+                case DAILY:
+                    return anchor.atZone(ZoneOffset.UTC).plusDays(n).toInstant();
+                case WEEKLY:
+                    return anchor.atZone(ZoneOffset.UTC).plusWeeks(n).toInstant();
+                case MONTHLY:
+                    return anchor.atZone(ZoneOffset.UTC).plusMonths(n).toInstant();
+                default:
+                    return n == 0 ? anchor : null;
+            }
+        }
+
+        /**
+         * Number of the first occurrence from {@code n} on that is due after {@code now}. Worked out
+         * from the time elapsed since the anchor instead of stepping through the missed occurrences,
+         * of which there can be any number after a long downtime.
+         */
+        public long firstOccurrenceAfter(Instant anchor, long n, Instant now) {
+            ChronoUnit unit;
+            switch (this) {
+                case DAILY:
+                    unit = ChronoUnit.DAYS;
+                    break;
+                case WEEKLY:
+                    unit = ChronoUnit.WEEKS;
+                    break;
+                case MONTHLY:
+                    unit = ChronoUnit.MONTHS;
+                    break;
+                default:
+                    return n;
+            }
+            ZonedDateTime start = anchor.atZone(ZoneOffset.UTC);
+            long candidate = Math.max(n, unit.between(start, now.atZone(ZoneOffset.UTC)));
+            // between() only counts whole units, so at most one more step is due
+            while (!occurrence(anchor, candidate).isAfter(now)) {
+                candidate++;
+            }
+            return candidate;
+        }
+    }
+
+    public enum Status {
+        ACTIVE,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String sourceAccountNumber;
+
+    private String destinationAccountNumber;
+
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency = Frequency.ONCE; // one-off transfer, if no other data is received
+
+    private Instant firstExecutionAt;
+
+    private Instant nextExecutionAt;
+
+    private long occurrence;
+
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.ACTIVE;
+
+    private String lastError;
+
+    // Standard constructor
+    public ScheduledTransfer() {
+    }
+
+    // Constructor with parameters
+    public ScheduledTransfer(String sourceAccountNumber, String destinationAccountNumber, BigDecimal amount,
+                             Frequency frequency, Instant nextExecutionAt) {
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.amount = amount;
+        this.frequency = frequency;
+        this.firstExecutionAt = nextExecutionAt;
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    public void setSourceAccountNumber(String sourceAccountNumber) {
+        this.sourceAccountNumber = sourceAccountNumber;
+    }
+
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    public void setDestinationAccountNumber(String destinationAccountNumber) {
+        this.destinationAccountNumber = destinationAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Instant getFirstExecutionAt() {
+        return firstExecutionAt;
+    }
+
+    public void setFirstExecutionAt(Instant firstExecutionAt) {
+        this.firstExecutionAt = firstExecutionAt;
+    }
+
+    public Instant getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public void setNextExecutionAt(Instant nextExecutionAt) {
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    public long getOccurrence() {
+        return occurrence;
+    }
+
+    public void setOccurrence(long occurrence) {
+        this.occurrence = occurrence;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
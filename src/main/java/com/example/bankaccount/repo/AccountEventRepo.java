@@ -0,0 +1,43 @@
+package com.example.bankaccount.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.bankaccount.model.AccountEvent;
+
+@Repository
+public interface AccountEventRepo extends JpaRepository<AccountEvent, Long> {
+
+    // Events that already got a sequence in an earlier, failed run come first
+    @Query("SELECT e FROM AccountEvent e WHERE e.published = false ORDER BY e.sequence ASC NULLS LAST, e.id ASC")
+    List<AccountEvent> findUnpublished(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM AccountEvent e")
+    long findMaxSequence();
+
+    @Query("SELECT MIN(e.sequence) FROM AccountEvent e")
+    Long findMinSequence();
+
+    // Replay for reconnecting stream clients, a null account number matches all accounts
+    @Query("SELECT e FROM AccountEvent e WHERE e.sequence > :after "
+            + "AND (:accountNumber IS NULL OR e.accountNumber = :accountNumber) ORDER BY e.sequence")
+    List<AccountEvent> findSequencedAfter(@Param("after") long after, @Param("accountNumber") String accountNumber,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE AccountEvent e SET e.published = true WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    // The newest event is always kept, so the stream position survives an idle period and a restart
+    @Query("DELETE FROM AccountEvent e WHERE e.published = true AND e.createdAt < :cutoff "
+            + "AND e.sequence < (SELECT MAX(e2.sequence) FROM AccountEvent e2)")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
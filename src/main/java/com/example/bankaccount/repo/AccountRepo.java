@@ -1,10 +1,21 @@
 package com.example.bankaccount.repo;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.bankaccount.model.Account;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AccountRepo extends JpaRepository<Account, String>{
-    
-}
\ No newline at end of file
+
+    // Row lock for balance updates, held until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByIdForUpdate(@Param("accountNumber") String accountNumber);
+}
@@ -0,0 +1,35 @@
+package com.example.bankaccount.repo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.bankaccount.model.ScheduledTransfer;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ScheduledTransferRepo extends JpaRepository<ScheduledTransfer, Long> {
+
+    interface DueTransfer {
+        Long getId();
+
+        Instant getNextExecutionAt();
+    }
+
+    @Query("SELECT t.id AS id, t.nextExecutionAt AS nextExecutionAt FROM ScheduledTransfer t "
+            + "WHERE t.status = :status AND t.nextExecutionAt >= :from AND t.nextExecutionAt < :until AND t.id > :afterId "
+            + "ORDER BY t.id")
+    List<DueTransfer> findDue(@Param("status") ScheduledTransfer.Status status, @Param("from") Instant from,
+                              @Param("until") Instant until, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM ScheduledTransfer t WHERE t.id = :id")
+    Optional<ScheduledTransfer> findByIdForUpdate(@Param("id") Long id);
+}
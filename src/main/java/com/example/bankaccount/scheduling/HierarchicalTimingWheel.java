@@ -0,0 +1,109 @@
+package com.example.bankaccount.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Each level has {@code wheelSize} buckets of {@code tickMs}, items due
+ * beyond the range of a level go to a coarser overflow level and cascade down as the clock
+ * approaches them, so adding and expiring an item is O(1) regardless of how many are pending.
+ *
+ * <p>Not thread-safe, callers have to synchronise access.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final List<Entry<T>>[] buckets;
+
+    private long currentTime;
+
+    private HierarchicalTimingWheel<T> overflowWheel;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.buckets = new List[wheelSize];
+        this.currentTime = startMs - (startMs % tickMs);
+    }
+
+    /**
+     * Adds an item due at {@code dueMs}. Returns {@code false} if the item is already due, in which
+     * case it is not added and the caller should handle it right away.
+     */
+    public boolean add(T item, long dueMs) {
+        if (!add(new Entry<>(item, dueMs))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs} and hands every item that became due to {@code expired}.
+     */
+    public void advanceTo(long nowMs, Consumer<T> expired) {
+        advance(nowMs, entry -> {
+            size--;
+            expired.accept(entry.item());
+        });
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean add(Entry<T> entry) {
+        if (entry.dueMs() < currentTime + tickMs) {
+            return false;
+        }
+        if (entry.dueMs() < currentTime + interval) {
+            int slot = (int) ((entry.dueMs() / tickMs) % wheelSize);
+            if (buckets[slot] == null) {
+                buckets[slot] = new ArrayList<>();
+            }
+            buckets[slot].add(entry);
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new HierarchicalTimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel.add(entry);
+    }
+
+    private void advance(long nowMs, Consumer<Entry<T>> expired) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            if (overflowWheel != null) {
+                // Cascade entries from the coarser level into this one once they are within range
+                overflowWheel.advance(currentTime, entry -> reinsert(entry, expired));
+            }
+            int slot = (int) ((currentTime / tickMs) % wheelSize);
+            List<Entry<T>> bucket = buckets[slot];
+            if (bucket != null) {
+                buckets[slot] = null;
+                for (Entry<T> entry : bucket) {
+                    reinsert(entry, expired);
+                }
+            }
+        }
+    }
+
+    private void reinsert(Entry<T> entry, Consumer<Entry<T>> expired) {
+        if (!add(entry)) {
+            expired.accept(entry);
+        }
+    }
+
+    private record Entry<T>(T item, long dueMs) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bankaccount.scheduling;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.bankaccount.exceptions.AccountException;
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+import com.example.bankaccount.service.AccountService;
+
+/**
+ * Executes a single occurrence of a scheduled transfer through {@link AccountService#transfer}.
+ */
+@Component
+public class ScheduledTransferExecutor {
+
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    private AccountService accountService;
+
+    private TransactionTemplate transactionTemplate;
+
+    public ScheduledTransferExecutor(ScheduledTransferRepo scheduledTransferRepo, AccountService accountService,
+                                     PlatformTransactionManager transactionManager) {
+        this.scheduledTransferRepo = scheduledTransferRepo;
+        this.accountService = accountService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs the transfer if it is still active and due. Returns when the transfer is due next,
+     * or {@code null} if there is nothing left to schedule.
+     */
+    public Instant execute(Long id) {
+        try {
+            return transactionTemplate.execute(status -> {
+                ScheduledTransfer transfer = scheduledTransferRepo.findByIdForUpdate(id).orElse(null);
+                if (transfer == null || transfer.getStatus() != ScheduledTransfer.Status.ACTIVE) {
+                    return null;
+                }
+                Instant now = Instant.now();
+                if (transfer.getNextExecutionAt().isAfter(now)) {
+                    return transfer.getNextExecutionAt();
+                }
+                // Worked out before the transfer locks the accounts
+                long next = nextOccurrence(transfer, now);
+                accountService.transfer(transfer.getSourceAccountNumber(), transfer.getDestinationAccountNumber(), transfer.getAmount());
+                transfer.setLastError(null);
+                return advance(transfer, next, true);
+            });
+        } catch (AccountException e) {
+            // The failed transfer rolled back, record the failure in a transaction of its own
+            return transactionTemplate.execute(status -> {
+                ScheduledTransfer transfer = scheduledTransferRepo.findByIdForUpdate(id).orElse(null);
+                if (transfer == null || transfer.getStatus() != ScheduledTransfer.Status.ACTIVE) {
+                    return null;
+                }
+                transfer.setLastError(e.getMessage());
+                return advance(transfer, nextOccurrence(transfer, Instant.now()), false);
+            });
+        }
+    }
+
+    private static long nextOccurrence(ScheduledTransfer transfer, Instant now) {
+        // After downtime only one overdue occurrence is paid, the other missed ones are skipped
+        return transfer.getFrequency().firstOccurrenceAfter(transfer.getFirstExecutionAt(), transfer.getOccurrence() + 1, now);
+    }
+
+    private Instant advance(ScheduledTransfer transfer, long occurrence, boolean succeeded) {
+        Instant next = transfer.getFrequency().occurrence(transfer.getFirstExecutionAt(), occurrence);
+        if (next == null) {
+            transfer.setStatus(succeeded ? ScheduledTransfer.Status.COMPLETED : ScheduledTransfer.Status.FAILED);
+            return null;
+        }
+
+        // Standing orders also skip a failed occurrence and carry on with the next one
+        transfer.setOccurrence(occurrence);
+        transfer.setNextExecutionAt(next);
+        return next;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.bankaccount.scheduling;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+
+/**
+ * Keeps scheduled transfers that fall due within the next {@code horizon-ms} in a
+ * {@link HierarchicalTimingWheel}, loading the table window by window so millions of standing
+ * orders never have to be held in memory at once. Due times are spread by a stable per-transfer
+ * offset of up to {@code spread-ms}, and at most {@code batch-size} transfers are executed per
+ * tick, so a burst of orders due at the same time is worked off at a steady rate.
+ */
+@Component
+public class ScheduledTransferScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTransferScheduler.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private static final int WHEEL_SIZE = 60;
+
+    private static final long RETRY_DELAY_MS = 60_000;
+
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    private long horizonMs;
+
+    private long spreadMs;
+
+    private int batchSize;
+
+    // All fields below are guarded by this
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    private final ArrayDeque<Long> ready = new ArrayDeque<>();
+
+    private final Set<Long> tracked = new HashSet<>();
+
+    private long loadedUntil = 0;
+
+    public ScheduledTransferScheduler(ScheduledTransferRepo scheduledTransferRepo,
+                                      ScheduledTransferExecutor scheduledTransferExecutor,
+                                      @Value("${bankaccount.scheduled-transfers.tick-ms:1000}") long tickMs,
+                                      @Value("${bankaccount.scheduled-transfers.horizon-ms:600000}") long horizonMs,
+                                      @Value("${bankaccount.scheduled-transfers.spread-ms:60000}") long spreadMs,
+                                      @Value("${bankaccount.scheduled-transfers.batch-size:200}") int batchSize) {
+        this.scheduledTransferRepo = scheduledTransferRepo;
+        this.scheduledTransferExecutor = scheduledTransferExecutor;
+        this.horizonMs = horizonMs;
+        this.spreadMs = spreadMs;
+        this.batchSize = batchSize;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${bankaccount.scheduled-transfers.load-interval-ms:60000}")
+    public void loadDueTransfers() {
+        long from;
+        synchronized (this) {
+            from = loadedUntil;
+        }
+        long until = System.currentTimeMillis() + horizonMs;
+        long afterId = 0;
+        int loaded = 0;
+        List<ScheduledTransferRepo.DueTransfer> page;
+        do {
+            page = scheduledTransferRepo.findDue(ScheduledTransfer.Status.ACTIVE, Instant.ofEpochMilli(from),
+                    Instant.ofEpochMilli(until), afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (ScheduledTransferRepo.DueTransfer due : page) {
+                track(due.getId(), due.getNextExecutionAt());
+                afterId = due.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        synchronized (this) {
+            loadedUntil = until;
+        }
+        if (loaded > 0) {
+            log.info("Loaded {} scheduled transfers due before {}", loaded, Instant.ofEpochMilli(until));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTransferScheduled(TransferScheduledEvent event) {
+        // Transfers due beyond the horizon are picked up by a later load
+        trackIfWithinHorizon(event.id(), event.executeAt());
+    }
+
+    @Scheduled(fixedDelayString = "${bankaccount.scheduled-transfers.tick-ms:1000}")
+    public void tick() {
+        List<Long> batch = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(System.currentTimeMillis(), ready::add);
+            while (batch.size() < batchSize && !ready.isEmpty()) {
+                batch.add(ready.poll());
+            }
+        }
+        for (Long id : batch) {
+            Instant next;
+            try {
+                next = scheduledTransferExecutor.execute(id);
+            } catch (RuntimeException e) {
+                log.warn("Failed to execute scheduled transfer {}, retrying later", id, e);
+                next = Instant.now().plusMillis(RETRY_DELAY_MS);
+            }
+            synchronized (this) {
+                tracked.remove(id);
+            }
+            if (next != null) {
+                trackIfWithinHorizon(id, next);
+            }
+        }
+    }
+
+    private void trackIfWithinHorizon(Long id, Instant executeAt) {
+        if (executeAt.toEpochMilli() < System.currentTimeMillis() + horizonMs) {
+            track(id, executeAt);
+        }
+    }
+
+    private synchronized void track(Long id, Instant executeAt) {
+        if (!tracked.add(id)) {
+            return;
+        }
+        long dueMs = executeAt.toEpochMilli() + spreadOffset(id);
+        if (!wheel.add(id, dueMs)) {
+            ready.add(id);
+        }
+    }
+
+    long spreadOffset(Long id) {
+        if (spreadMs <= 0) {
+            return 0;
+        }
+        // Stable pseudo-random offset so each transfer keeps its slot within the spread window
+        return Math.floorMod(id * 0x9E3779B97F4A7C15L, spreadMs);
+    }
+}
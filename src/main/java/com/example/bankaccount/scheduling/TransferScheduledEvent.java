@@ -0,0 +1,9 @@
+package com.example.bankaccount.scheduling;
+
+import java.time.Instant;
+
+/**
+ * Published when a scheduled transfer is created, handled once the creating transaction has committed.
+ */
+public record TransferScheduledEvent(Long id, Instant executeAt) {
+}
@@ -1,10 +1,14 @@
 package com.example.bankaccount.service;
 
+import com.example.bankaccount.datasource.ReadYourWritesContext;
+import com.example.bankaccount.datasource.ReplicaRead;
 import com.example.bankaccount.exceptions.AccountException;
 import com.example.bankaccount.exceptions.InsufficientFundsException;
 import com.example.bankaccount.exceptions.InvalidAccountException;
 import com.example.bankaccount.exceptions.InvalidTransferException;
 import com.example.bankaccount.model.Account;
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
 import com.example.bankaccount.repo.AccountRepo;
 
 import io.micrometer.common.util.StringUtils;
@@ -20,11 +24,16 @@ public class AccountServiceImpl implements AccountService {
 
     private AccountRepo accountRepo;
 
-    public AccountServiceImpl(AccountRepo accountRepo) {
+    private AccountEventRepo accountEventRepo;
+
+    public AccountServiceImpl(AccountRepo accountRepo, AccountEventRepo accountEventRepo) {
         this.accountRepo = accountRepo;
+        this.accountEventRepo = accountEventRepo;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @ReplicaRead
     public BigDecimal getBalance(String accountNumber) throws InvalidAccountException {
         Account account = accountRepo.findById(accountNumber)
                 .orElseThrow(() -> new InvalidAccountException("Account not found"));
@@ -32,6 +41,7 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @Transactional
     public Account createAccount(Account account) throws AccountException {
         if (account == null) {
             throw new AccountException("Account data cannot be null");
@@ -45,20 +55,25 @@ public class AccountServiceImpl implements AccountService {
         if (existingAccount.isPresent()) {
             throw new AccountException("An account with the same account number already exists");
         }
-        return accountRepo.save(account);
+        Account savedAccount = accountRepo.save(account);
+        recordEvent(AccountEvent.Type.ACCOUNT_CREATED, savedAccount, null, savedAccount.getBalance());
+        return savedAccount;
     }
 
     @Override
+    @Transactional
     public BigDecimal deposit(String accountNumber, BigDecimal amount) throws InvalidAccountException, InvalidTransferException {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidTransferException("Amount must be a positive value");
         }
 
-        Account account = accountRepo.findById(accountNumber)
+        // Locked before the event is inserted, so event ids of one account follow commit order
+        Account account = accountRepo.findByIdForUpdate(accountNumber)
                 .orElseThrow(() -> new InvalidAccountException("Account not found"));
 
         account.setBalance(account.getBalance().add(amount));
         accountRepo.save(account);
+        recordEvent(AccountEvent.Type.DEPOSIT, account, null, amount);
 
         return account.getBalance();
     }
@@ -70,10 +85,20 @@ public class AccountServiceImpl implements AccountService {
         // Validate input
         validateTransfer(sourceAccountNumber, destinationAccountNumber, amount);
 
-        // Retrieve accounts
-        Account sourceAccount = accountRepo.findById(sourceAccountNumber)
+        // Retrieve and lock accounts before any event is inserted, always in account number order
+        // so two transfers in opposite directions cannot deadlock
+        Optional<Account> source;
+        Optional<Account> destination;
+        if (sourceAccountNumber.compareTo(destinationAccountNumber) < 0) {
+            source = accountRepo.findByIdForUpdate(sourceAccountNumber);
+            destination = accountRepo.findByIdForUpdate(destinationAccountNumber);
+        } else {
+            destination = accountRepo.findByIdForUpdate(destinationAccountNumber);
+            source = accountRepo.findByIdForUpdate(sourceAccountNumber);
+        }
+        Account sourceAccount = source
                 .orElseThrow(() -> new InvalidAccountException("Source account not found"));
-        Account destinationAccount = accountRepo.findById(destinationAccountNumber)
+        Account destinationAccount = destination
                 .orElseThrow(() -> new InvalidAccountException("Destination account not found"));
 
         // Check for sufficient funds in the source account
@@ -89,10 +114,22 @@ public class AccountServiceImpl implements AccountService {
         accountRepo.save(sourceAccount);
         accountRepo.save(destinationAccount);
 
+        // Write the outbox events in the same transaction as the balance updates
+        recordEvent(AccountEvent.Type.TRANSFER_DEBIT, sourceAccount, destinationAccountNumber, amount);
+        recordEvent(AccountEvent.Type.TRANSFER_CREDIT, destinationAccount, sourceAccountNumber, amount);
+
         // Return the new balance of the source account
         return sourceAccount.getBalance();
     }
 
+    private void recordEvent(AccountEvent.Type type, Account account, String counterpartyAccountNumber, BigDecimal amount) {
+        AccountEvent event = new AccountEvent(type, account.getAccountNumber(), counterpartyAccountNumber, amount, account.getBalance());
+        accountEventRepo.save(event);
+        if (event.getId() != null) {
+            ReadYourWritesContext.recordWrite(event.getId());
+        }
+    }
+
     private void validateTransfer(String sourceAccountNumber, String destinationAccountNumber, BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidTransferException("Amount must be a positive value");
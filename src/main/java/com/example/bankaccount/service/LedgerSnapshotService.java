@@ -0,0 +1,11 @@
+package com.example.bankaccount.service;
+
+import java.nio.file.Path;
+
+import com.example.bankaccount.exceptions.SnapshotException;
+
+public interface LedgerSnapshotService {
+    long exportSnapshot(Path file) throws SnapshotException;
+
+    long importSnapshot(Path file) throws SnapshotException;
+}
@@ -0,0 +1,169 @@
+package com.example.bankaccount.service;
+
+import com.example.bankaccount.exceptions.SnapshotException;
+import com.example.bankaccount.snapshot.LedgerRestoredEvent;
+import com.example.bankaccount.snapshot.LedgerSnapshotReader;
+import com.example.bankaccount.snapshot.LedgerSnapshotWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class LedgerSnapshotServiceImpl implements LedgerSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSnapshotServiceImpl.class);
+
+    private static final String SELECT_ACCOUNTS =
+            "SELECT account_number, balance, first_name, last_name FROM accounts ORDER BY account_number";
+
+    private static final String STAGING_TABLE = "accounts_restore";
+
+    private static final String RETIRED_TABLE = "accounts_retired";
+
+    // Copies the columns of the live table, so the two cannot drift apart when the entity changes;
+    // constraints are not copied, the primary key is added once the rows are in
+    private static final String CREATE_STAGING_TABLE =
+            "CREATE TABLE " + STAGING_TABLE + " AS SELECT * FROM accounts WHERE 1=0";
+
+    private static final String INSERT_STAGED_ACCOUNT = "INSERT INTO " + STAGING_TABLE
+            + " (account_number, balance, first_name, last_name) VALUES (?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private int batchSize;
+
+    public LedgerSnapshotServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${bankaccount.snapshot.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // not a replica read, a snapshot may be restored and must not lag the primary
+    public long exportSnapshot(Path file) throws SnapshotException {
+        long start = System.nanoTime();
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            jdbcTemplate.query(SELECT_ACCOUNTS, (RowCallbackHandler) rs -> {
+                try {
+                    writer.add(rs.getString(1), rs.getBigDecimal(2), rs.getString(3), rs.getString(4));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long rows = writer.finish();
+            log.info("Exported {} accounts to {} in {} ms", rows, file, (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            throw new SnapshotException("Failed to export snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the snapshot into a staging table, committing every {@code batch-size} rows so the
+     * load never builds up one huge transaction, and then renames the staging table into place.
+     * H2 has no transactional DDL, so the swap is two renames issued back to back on one
+     * connection: readers see either the old or the restored ledger, never a partial one, but a
+     * statement landing between the renames fails instead of waiting.
+     */
+    @Override
+    public synchronized long importSnapshot(Path file) throws SnapshotException {
+        if (!Files.isReadable(file)) {
+            throw new SnapshotException("Snapshot file not found: " + file);
+        }
+        long start = System.nanoTime();
+
+        long rows;
+        try {
+            rows = LedgerSnapshotReader.check(file);
+        } catch (IOException e) {
+            throw new SnapshotException("Failed to import snapshot: " + e.getMessage(), e);
+        }
+
+        try {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + STAGING_TABLE);
+            jdbcTemplate.execute(CREATE_STAGING_TABLE);
+            loadStagingTable(file);
+            long loadedMs = (System.nanoTime() - start) / 1_000_000;
+            // Built once after the load instead of on every insert, also rejects duplicate account numbers
+            jdbcTemplate.execute("ALTER TABLE " + STAGING_TABLE + " ALTER COLUMN account_number SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE " + STAGING_TABLE + " ADD PRIMARY KEY (account_number)");
+            swapStagingTable();
+            log.info("Imported {} accounts from {} in {} ms ({} ms loading)", rows, file,
+                    (System.nanoTime() - start) / 1_000_000, loadedMs);
+        } catch (Exception e) {
+            dropStagingTable(e);
+            throw new SnapshotException("Failed to import snapshot: " + e.getMessage(), e);
+        }
+        eventPublisher.publishEvent(new LedgerRestoredEvent(file, rows));
+        return rows;
+    }
+
+    private void loadStagingTable(Path file) throws Exception {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        LedgerSnapshotReader.read(file, (accountNumber, balance, firstName, lastName) -> {
+            batch.add(new Object[] { accountNumber, balance, firstName, lastName });
+            if (batch.size() == batchSize) {
+                insertStaged(batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            insertStaged(batch);
+        }
+    }
+
+    private void insertStaged(List<Object[]> batch) {
+        // Nothing reads the staging table, so every batch can commit on its own
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_STAGED_ACCOUNT, batch));
+        batch.clear();
+    }
+
+    private void swapStagingTable() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + RETIRED_TABLE);
+                statement.execute("ALTER TABLE accounts RENAME TO " + RETIRED_TABLE);
+                try {
+                    statement.execute("ALTER TABLE " + STAGING_TABLE + " RENAME TO accounts");
+                } catch (SQLException e) {
+                    statement.execute("ALTER TABLE " + RETIRED_TABLE + " RENAME TO accounts");
+                    throw e;
+                }
+                statement.execute("DROP TABLE " + RETIRED_TABLE);
+            }
+            return null;
+        });
+    }
+
+    private void dropStagingTable(Exception failure) {
+        try {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + STAGING_TABLE);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bankaccount.service;
+
+import com.example.bankaccount.exceptions.AccountException;
+import com.example.bankaccount.exceptions.InvalidAccountException;
+import com.example.bankaccount.exceptions.InvalidTransferException;
+import com.example.bankaccount.exceptions.ScheduledTransferNotFoundException;
+import com.example.bankaccount.model.ScheduledTransfer;
+
+public interface ScheduledTransferService {
+    ScheduledTransfer scheduleTransfer(ScheduledTransfer scheduledTransfer)
+            throws AccountException, InvalidAccountException, InvalidTransferException;
+
+    ScheduledTransfer getScheduledTransfer(Long id) throws ScheduledTransferNotFoundException;
+
+    ScheduledTransfer cancelScheduledTransfer(Long id) throws ScheduledTransferNotFoundException;
+}
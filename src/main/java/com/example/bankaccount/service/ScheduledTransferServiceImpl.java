@@ -0,0 +1,103 @@
+package com.example.bankaccount.service;
+
+import com.example.bankaccount.exceptions.AccountException;
+import com.example.bankaccount.exceptions.InvalidAccountException;
+import com.example.bankaccount.exceptions.InvalidTransferException;
+import com.example.bankaccount.exceptions.ScheduledTransferNotFoundException;
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.AccountRepo;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+import com.example.bankaccount.scheduling.TransferScheduledEvent;
+
+import io.micrometer.common.util.StringUtils;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Service
+public class ScheduledTransferServiceImpl implements ScheduledTransferService {
+
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    private AccountRepo accountRepo;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    public ScheduledTransferServiceImpl(ScheduledTransferRepo scheduledTransferRepo, AccountRepo accountRepo,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.scheduledTransferRepo = scheduledTransferRepo;
+        this.accountRepo = accountRepo;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public ScheduledTransfer scheduleTransfer(ScheduledTransfer scheduledTransfer)
+            throws AccountException, InvalidAccountException, InvalidTransferException {
+        if (scheduledTransfer == null) {
+            throw new AccountException("Scheduled transfer data cannot be null");
+        }
+
+        if (StringUtils.isEmpty(scheduledTransfer.getSourceAccountNumber())
+                || StringUtils.isEmpty(scheduledTransfer.getDestinationAccountNumber())
+                || scheduledTransfer.getAmount() == null || scheduledTransfer.getNextExecutionAt() == null) {
+            throw new AccountException("Invalid scheduled transfer data");
+        }
+
+        if (scheduledTransfer.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidTransferException("Amount must be a positive value");
+        }
+        if (scheduledTransfer.getSourceAccountNumber().equals(scheduledTransfer.getDestinationAccountNumber())) {
+            throw new InvalidTransferException("Not possible to transfer money to the same account");
+        }
+        if (scheduledTransfer.getNextExecutionAt().isBefore(Instant.now())) {
+            throw new InvalidTransferException("Execution time must not be in the past");
+        }
+
+        if (!accountRepo.existsById(scheduledTransfer.getSourceAccountNumber())) {
+            throw new InvalidAccountException("Source account not found");
+        }
+        if (!accountRepo.existsById(scheduledTransfer.getDestinationAccountNumber())) {
+            throw new InvalidAccountException("Destination account not found");
+        }
+
+        scheduledTransfer.setId(null);
+        scheduledTransfer.setStatus(ScheduledTransfer.Status.ACTIVE);
+        scheduledTransfer.setLastError(null);
+        scheduledTransfer.setFirstExecutionAt(scheduledTransfer.getNextExecutionAt());
+        scheduledTransfer.setOccurrence(0);
+        if (scheduledTransfer.getFrequency() == null) {
+            scheduledTransfer.setFrequency(ScheduledTransfer.Frequency.ONCE);
+        }
+
+        ScheduledTransfer savedTransfer = scheduledTransferRepo.save(scheduledTransfer);
+
+        // Handed to the scheduler once the transfer has been committed
+        eventPublisher.publishEvent(new TransferScheduledEvent(savedTransfer.getId(), savedTransfer.getNextExecutionAt()));
+        return savedTransfer;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScheduledTransfer getScheduledTransfer(Long id) throws ScheduledTransferNotFoundException {
+        return scheduledTransferRepo.findById(id)
+                .orElseThrow(() -> new ScheduledTransferNotFoundException("Scheduled transfer not found"));
+    }
+
+    @Override
+    @Transactional
+    public ScheduledTransfer cancelScheduledTransfer(Long id) throws ScheduledTransferNotFoundException {
+        ScheduledTransfer scheduledTransfer = scheduledTransferRepo.findByIdForUpdate(id)
+                .orElseThrow(() -> new ScheduledTransferNotFoundException("Scheduled transfer not found"));
+
+        // Entries already in the timing wheel are skipped when they fire
+        if (scheduledTransfer.getStatus() == ScheduledTransfer.Status.ACTIVE) {
+            scheduledTransfer.setStatus(ScheduledTransfer.Status.CANCELLED);
+        }
+        return scheduledTransfer;
+    }
+}
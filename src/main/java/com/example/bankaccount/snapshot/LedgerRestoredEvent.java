@@ -0,0 +1,10 @@
+package com.example.bankaccount.snapshot;
+
+import java.nio.file.Path;
+
+/**
+ * Published when the ledger has been replaced from a snapshot. Restores bypass the account
+ * event stream, so listeners that mirror the ledger have to resynchronise on this event.
+ */
+public record LedgerRestoredEvent(Path file, long accounts) {
+}
@@ -0,0 +1,44 @@
+package com.example.bankaccount.snapshot;
+
+/**
+ * Layout of a ledger snapshot file. The header is followed by one section per column,
+ * each holding the values of all rows in account order:
+ *
+ * <pre>
+ * int   magic
+ * int   version
+ * long  row count
+ * int   balance scale
+ * int   column count
+ * long  offset, long length   (per column)
+ * ...   column sections
+ * </pre>
+ *
+ * String columns store an unsigned 16-bit UTF-8 length followed by the bytes, balances are
+ * stored as longs scaled by {@code 10^scale}.
+ */
+final class LedgerSnapshotFormat {
+
+    static final int MAGIC = 0x4C534E50; // "LSNP"
+
+    static final int VERSION = 1;
+
+    static final int BALANCE_SCALE = 2;
+
+    static final int COLUMN_ACCOUNT_NUMBER = 0;
+    static final int COLUMN_BALANCE = 1;
+    static final int COLUMN_FIRST_NAME = 2;
+    static final int COLUMN_LAST_NAME = 3;
+    static final int COLUMN_COUNT = 4;
+
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + COLUMN_COUNT * 16;
+
+    static final int NULL_STRING = 0xFFFF;
+
+    static final int MAX_STRING_BYTES = 0xFFFE;
+
+    static final long NULL_BALANCE = Long.MIN_VALUE;
+
+    private LedgerSnapshotFormat() {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bankaccount.snapshot;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.bankaccount.snapshot.LedgerSnapshotFormat.*;
+
+/**
+ * Reads a snapshot written by {@link LedgerSnapshotWriter}. Every column section is memory-mapped
+ * and walked with its own cursor, so rows are reassembled without copying the file onto the heap.
+ */
+public final class LedgerSnapshotReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(String accountNumber, BigDecimal balance, String firstName, String lastName) throws Exception;
+    }
+
+    private LedgerSnapshotReader() {
+    }
+
+    public static long read(Path file, RowHandler handler) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Sections sections = map(channel, file);
+            MappedByteBuffer[] columns = sections.columns();
+            for (long row = 0; row < sections.rowCount(); row++) {
+                String accountNumber = readString(columns[COLUMN_ACCOUNT_NUMBER]);
+                long scaledBalance = columns[COLUMN_BALANCE].getLong();
+                BigDecimal balance = scaledBalance == NULL_BALANCE ? null : BigDecimal.valueOf(scaledBalance, sections.scale());
+                String firstName = readString(columns[COLUMN_FIRST_NAME]);
+                String lastName = readString(columns[COLUMN_LAST_NAME]);
+                handler.handle(accountNumber, balance, firstName, lastName);
+            }
+            return sections.rowCount();
+        }
+    }
+
+    /**
+     * Walks every column without decoding values and checks that each holds exactly the rows
+     * announced in the header, so a truncated or damaged file is rejected before anything is loaded.
+     *
+     * @return the number of rows in the snapshot
+     */
+    public static long check(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Sections sections = map(channel, file);
+            MappedByteBuffer[] columns = sections.columns();
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                MappedByteBuffer column = columns[i];
+                if (i == COLUMN_BALANCE) {
+                    if (column.remaining() != sections.rowCount() * Long.BYTES) {
+                        throw new IOException("Corrupt column section " + i + " in snapshot: " + file);
+                    }
+                    continue;
+                }
+                for (long row = 0; row < sections.rowCount(); row++) {
+                    if (column.remaining() < Short.BYTES) {
+                        throw new IOException("Corrupt column section " + i + " in snapshot: " + file);
+                    }
+                    int length = Short.toUnsignedInt(column.getShort());
+                    if (length != NULL_STRING) {
+                        if (length > column.remaining()) {
+                            throw new IOException("Corrupt column section " + i + " in snapshot: " + file);
+                        }
+                        column.position(column.position() + length);
+                    }
+                }
+                if (column.hasRemaining()) {
+                    throw new IOException("Corrupt column section " + i + " in snapshot: " + file);
+                }
+            }
+            return sections.rowCount();
+        }
+    }
+
+    private static Sections map(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a ledger snapshot: " + file);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        header.order(ByteOrder.BIG_ENDIAN);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a ledger snapshot: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long rowCount = header.getLong();
+        int scale = header.getInt();
+        if (header.getInt() != COLUMN_COUNT) {
+            throw new IOException("Unexpected column count in snapshot: " + file);
+        }
+        if (rowCount < 0) {
+            throw new IOException("Corrupt row count in snapshot: " + file);
+        }
+
+        MappedByteBuffer[] columns = new MappedByteBuffer[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            long offset = header.getLong();
+            long length = header.getLong();
+            if (offset < HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE || offset + length > channel.size()) {
+                throw new IOException("Corrupt column section " + i + " in snapshot: " + file);
+            }
+            columns[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            columns[i].order(ByteOrder.BIG_ENDIAN);
+        }
+        return new Sections(rowCount, scale, columns);
+    }
+
+    private static String readString(MappedByteBuffer column) {
+        int length = Short.toUnsignedInt(column.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        column.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Sections(long rowCount, int scale, MappedByteBuffer[] columns) {
+    }
+}
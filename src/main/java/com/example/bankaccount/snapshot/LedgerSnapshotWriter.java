@@ -0,0 +1,144 @@
+package com.example.bankaccount.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.bankaccount.snapshot.LedgerSnapshotFormat.*;
+
+/**
+ * Streams account rows into a columnar snapshot file. Each column is spooled to its own
+ * temporary file so memory use stays flat regardless of the number of accounts, and the
+ * columns are stitched together behind the header on {@link #finish()}.
+ */
+public class LedgerSnapshotWriter implements Closeable {
+
+    private final Path target;
+
+    private final Path[] columnFiles = new Path[COLUMN_COUNT];
+
+    private final DataOutputStream[] columns = new DataOutputStream[COLUMN_COUNT];
+
+    private long rowCount;
+
+    public LedgerSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Path directory = this.target.getParent();
+        try {
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                columnFiles[i] = Files.createTempFile(directory, "ledger-column-", ".tmp");
+                columns[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles[i]), 1 << 16));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Nobody gets a writer to close, so remove the columns created so far here
+            try {
+                close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    public void add(String accountNumber, BigDecimal balance, String firstName, String lastName) throws IOException {
+        writeString(columns[COLUMN_ACCOUNT_NUMBER], accountNumber);
+        columns[COLUMN_BALANCE].writeLong(balance == null
+                ? NULL_BALANCE
+                : balance.setScale(BALANCE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        writeString(columns[COLUMN_FIRST_NAME], firstName);
+        writeString(columns[COLUMN_LAST_NAME], lastName);
+        rowCount++;
+    }
+
+    public long finish() throws IOException {
+        long[] lengths = new long[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i].close();
+            lengths[i] = Files.size(columnFiles[i]);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(rowCount).putInt(BALANCE_SCALE).putInt(COLUMN_COUNT);
+        long offset = HEADER_SIZE;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            header.putLong(offset).putLong(lengths[i]);
+            offset += lengths[i];
+        }
+        header.flip();
+
+        // Write next to the target and move into place so a crash never leaves a half-written snapshot
+        Path partial = Files.createTempFile(target.getParent(), "ledger-snapshot-", ".tmp");
+        try {
+            writeSnapshot(partial, header, lengths);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            try {
+                if (columns[i] != null) {
+                    columns[i].close();
+                }
+                if (columnFiles[i] != null) {
+                    Files.deleteIfExists(columnFiles[i]);
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeSnapshot(Path partial, ByteBuffer header, long[] lengths) throws IOException {
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                try (FileChannel in = FileChannel.open(columnFiles[i], StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < lengths[i]) {
+                        position += in.transferTo(position, lengths[i] - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("Value too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankaccount.snapshot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.bankaccount.service.LedgerSnapshotService;
+
+/**
+ * Restores the ledger from the configured snapshot when the application starts, so the
+ * in-memory database does not have to be reseeded account by account after a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "bankaccount.snapshot.restore-on-startup", havingValue = "true")
+public class SnapshotStartupLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStartupLoader.class);
+
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    private Path snapshotPath;
+
+    public SnapshotStartupLoader(LedgerSnapshotService ledgerSnapshotService,
+                                 @Value("${bankaccount.snapshot.path}") Path snapshotPath) {
+        this.ledgerSnapshotService = ledgerSnapshotService;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Files.exists(snapshotPath)) {
+            log.info("No ledger snapshot at {}, starting with the seeded data", snapshotPath);
+            return;
+        }
+        ledgerSnapshotService.importSnapshot(snapshotPath);
+    }
+}
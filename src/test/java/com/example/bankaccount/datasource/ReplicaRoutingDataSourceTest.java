@@ -0,0 +1,109 @@
+package com.example.bankaccount.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaWatermark replicaWatermark;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replicaWatermark = new ReplicaWatermark(30_000);
+        routingDataSource = new ReplicaRoutingDataSource(replicaWatermark);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void testWritesGoToPrimary() throws Throwable {
+        // Given
+        replicaWatermark.markSeeded();
+
+        // When & Then
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routeInReplicaRead());
+    }
+
+    @Test
+    void testReadOnlyWithoutOptInGoesToPrimary() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaWatermark.markSeeded();
+
+        // When & Then
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReplicaReadGoesToPrimaryUntilReplicaIsSeeded() throws Throwable {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routeInReplicaRead());
+    }
+
+    @Test
+    void testReplicaReadGoesToSeededReplica() throws Throwable {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaWatermark.markSeeded();
+
+        // When & Then
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routeInReplicaRead());
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadYourWritesWaitsForReplicaWatermark() throws Throwable {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWritesContext.begin(2);
+        replicaWatermark.markSeeded();
+        replicaWatermark.applied(1);
+
+        // When & Then
+        assertEquals(ReplicaRoutingDataSource.Route.PRIMARY, routeInReplicaRead());
+
+        // When
+        replicaWatermark.applied(2);
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.Route.REPLICA, routeInReplicaRead());
+    }
+
+    @Test
+    void testWrittenWatermarkOnlyRecordedWithinRequest() {
+        // When
+        ReadYourWritesContext.recordWrite(7);
+
+        // Then
+        assertEquals(0, ReadYourWritesContext.writtenWatermark());
+
+        // When
+        ReadYourWritesContext.begin(0);
+        ReadYourWritesContext.recordWrite(7);
+        ReadYourWritesContext.recordWrite(3);
+
+        // Then
+        assertEquals(7, ReadYourWritesContext.writtenWatermark());
+    }
+
+    private Object routeInReplicaRead() throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenAnswer(invocation -> routingDataSource.determineCurrentLookupKey());
+        return new ReplicaReadAspect().routeToReplica(joinPoint);
+    }
+}
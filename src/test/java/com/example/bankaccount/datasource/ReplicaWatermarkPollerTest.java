@@ -0,0 +1,65 @@
+package com.example.bankaccount.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ReplicaWatermarkPollerTest {
+
+    private JdbcTemplate replica;
+
+    private ReplicaWatermark replicaWatermark;
+
+    private ReplicaWatermarkPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:pollertest;DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new JdbcTemplate(dataSource);
+        replicaWatermark = new ReplicaWatermark(30_000);
+        poller = new ReplicaWatermarkPoller(dataSource, replicaWatermark);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testReadsStayOnPrimaryWhileEventsCannotBeRead() {
+        // When
+        poller.poll();
+
+        // Then
+        assertFalse(replicaWatermark.isCaughtUpTo(0));
+    }
+
+    @Test
+    void testSeedsFromOldestReplicatedEventAndFollowsAppliedIds() {
+        // Given
+        replica.execute("CREATE TABLE account_events (id BIGINT PRIMARY KEY)");
+        replica.update("INSERT INTO account_events (id) VALUES (41), (42), (44)");
+
+        // When
+        poller.poll();
+
+        // Then
+        assertEquals(42, replicaWatermark.contiguous());
+        assertTrue(replicaWatermark.isCaughtUpTo(44));
+        assertFalse(replicaWatermark.isCaughtUpTo(43));
+
+        // When
+        replica.update("INSERT INTO account_events (id) VALUES (43)");
+        poller.poll();
+
+        // Then
+        assertEquals(44, replicaWatermark.contiguous());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bankaccount.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class ReplicaWatermarkTest {
+
+    private static final long GAP_TIMEOUT_MS = 30_000;
+
+    private AtomicLong clock;
+
+    private ReplicaWatermark replicaWatermark;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000);
+        replicaWatermark = new ReplicaWatermark(GAP_TIMEOUT_MS, clock::get);
+        replicaWatermark.markSeeded();
+    }
+
+    @Test
+    void testNotCaughtUpBeforeSeeding() {
+        // Given
+        ReplicaWatermark unseeded = new ReplicaWatermark(GAP_TIMEOUT_MS, clock::get);
+        unseeded.applied(1);
+
+        // When & Then
+        assertFalse(unseeded.isCaughtUpTo(0));
+
+        // When
+        unseeded.markSeeded();
+
+        // Then
+        assertTrue(unseeded.isCaughtUpTo(1));
+    }
+
+    @Test
+    void testUnseededWatermarkKeepsAdvancingButRoutesNothingToReplica() {
+        // Given
+        replicaWatermark.applied(1);
+        replicaWatermark.markUnseeded();
+
+        // When
+        replicaWatermark.applied(2);
+
+        // Then
+        assertFalse(replicaWatermark.isCaughtUpTo(0));
+        assertEquals(2, replicaWatermark.contiguous());
+
+        // When
+        replicaWatermark.markSeeded();
+
+        // Then
+        assertTrue(replicaWatermark.isCaughtUpTo(2));
+    }
+
+    @Test
+    void testOutOfOrderCommitDoesNotCoverEarlierId() {
+        // Given: events 1 to 9 applied, then event 11 commits before event 10
+        for (long id = 1; id <= 9; id++) {
+            replicaWatermark.applied(id);
+        }
+        replicaWatermark.applied(11);
+
+        // When & Then
+        assertFalse(replicaWatermark.isCaughtUpTo(10));
+        assertTrue(replicaWatermark.isCaughtUpTo(11));
+        assertEquals(9, replicaWatermark.contiguous());
+
+        // When
+        replicaWatermark.applied(10);
+
+        // Then
+        assertTrue(replicaWatermark.isCaughtUpTo(10));
+        assertEquals(11, replicaWatermark.contiguous());
+    }
+
+    @Test
+    void testHigherUnrelatedIdDoesNotSatisfyRequirement() {
+        // Given
+        replicaWatermark.applied(1);
+        replicaWatermark.applied(3);
+        replicaWatermark.applied(4);
+
+        // When & Then
+        assertFalse(replicaWatermark.isCaughtUpTo(2));
+        assertTrue(replicaWatermark.isCaughtUpTo(4));
+    }
+
+    @Test
+    void testRolledBackGapIsSkippedAfterTimeout() {
+        // Given: event 2 was rolled back and will never be applied
+        replicaWatermark.applied(1);
+        replicaWatermark.applied(3);
+
+        // When
+        clock.addAndGet(GAP_TIMEOUT_MS - 1);
+
+        // Then
+        assertEquals(1, replicaWatermark.contiguous());
+
+        // When
+        clock.addAndGet(1);
+
+        // Then
+        assertEquals(3, replicaWatermark.contiguous());
+        assertTrue(replicaWatermark.isCaughtUpTo(2));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bankaccount.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.bankaccount.service.AccountService;
+import com.example.bankaccount.service.LedgerSnapshotService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import javax.sql.DataSource;
+
+@SpringBootTest
+class ReplicationStandInTest {
+
+    private static final String ACCOUNT = "100001";
+
+    @Autowired
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ReplicaWatermark replicaWatermark;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRestoredBalancesAreNeverReadFromStaleReplica() throws Exception {
+        // Given: a snapshot holding a balance the replica has never seen, as no event was written for it
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        Path original = tempDir.resolve("original.snapshot");
+        Path changed = tempDir.resolve("changed.snapshot");
+        ledgerSnapshotService.exportSnapshot(original);
+        BigDecimal balance = primary.queryForObject("SELECT balance FROM accounts WHERE account_number = ?",
+                BigDecimal.class, ACCOUNT);
+        BigDecimal restored = balance.add(new BigDecimal("1000.00"));
+        primary.update("UPDATE accounts SET balance = ? WHERE account_number = ?", restored, ACCOUNT);
+        ledgerSnapshotService.exportSnapshot(changed);
+        primary.update("UPDATE accounts SET balance = ? WHERE account_number = ?", balance, ACCOUNT);
+        try {
+            // When
+            ledgerSnapshotService.importSnapshot(changed);
+
+            // Then: served by the primary while the replica is copied in the background
+            assertEquals(0, restored.compareTo(accountService.getBalance(ACCOUNT)));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!replicaWatermark.isCaughtUpTo(0) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(replicaWatermark.isCaughtUpTo(0));
+            assertEquals(0, restored.compareTo(replica.queryForObject(
+                    "SELECT balance FROM accounts WHERE account_number = ?", BigDecimal.class, ACCOUNT)));
+        } finally {
+            ledgerSnapshotService.importSnapshot(original);
+        }
+    }
+}
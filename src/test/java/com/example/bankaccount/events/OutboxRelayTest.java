@@ -0,0 +1,175 @@
+package com.example.bankaccount.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+class OutboxRelayTest {
+
+    private static final long RETENTION_MS = 600_000;
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private AccountEventRepo accountEventRepo;
+
+    @Mock
+    private AccountEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxRelay = new OutboxRelay(accountEventRepo, List.of(sink), transactionManager, RETENTION_MS, BATCH_SIZE);
+        when(accountEventRepo.findMaxSequence()).thenReturn(0L);
+    }
+
+    @Test
+    void testRelayPublishesInOrderAndMarksPublished() throws Exception {
+        // Given
+        AccountEvent first = event(1L);
+        AccountEvent second = event(2L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(first, second));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        InOrder inOrder = inOrder(sink);
+        inOrder.verify(sink).publish(first);
+        inOrder.verify(sink).publish(second);
+        verify(accountEventRepo).markPublished(List.of(1L, 2L));
+    }
+
+    @Test
+    void testBacklogLargerThanOnePageIsDrainedInOneRun() throws Exception {
+        // Given
+        OutboxRelay outboxRelay = new OutboxRelay(accountEventRepo, List.of(sink), transactionManager, RETENTION_MS, 2);
+        AccountEvent first = event(1L);
+        AccountEvent second = event(2L);
+        AccountEvent third = event(3L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        InOrder inOrder = inOrder(sink);
+        inOrder.verify(sink).publish(first);
+        inOrder.verify(sink).publish(second);
+        inOrder.verify(sink).publish(third);
+        verify(accountEventRepo).markPublished(List.of(1L, 2L));
+        verify(accountEventRepo).markPublished(List.of(3L));
+        verify(accountEventRepo, times(2)).findUnpublished(any(Pageable.class));
+    }
+
+    @Test
+    void testLateCommittedLowerIdGetsHigherSequence() throws Exception {
+        // Given: event 11 committed before event 10
+        AccountEvent eleven = event(11L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(eleven));
+        outboxRelay.relay();
+
+        AccountEvent ten = event(10L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(ten));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertEquals(1L, eleven.getSequence());
+        assertEquals(2L, ten.getSequence());
+    }
+
+    @Test
+    void testRelayKeepsSequenceOfRetriedEvent() throws Exception {
+        // Given
+        AccountEvent retried = event(5L);
+        retried.setSequence(7L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(retried));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertEquals(7L, retried.getSequence());
+    }
+
+    @Test
+    void testRelayStopsAtFirstFailure() throws Exception {
+        // Given
+        AccountEvent first = event(1L);
+        AccountEvent second = event(2L);
+        AccountEvent third = event(3L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(first, second, third));
+        doThrow(new RuntimeException("broker down")).when(sink).publish(second);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(sink, never()).publish(third);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> published = ArgumentCaptor.forClass(Collection.class);
+        verify(accountEventRepo).markPublished(published.capture());
+        assertEquals(List.of(1L), published.getValue());
+    }
+
+    @Test
+    void testNothingMarkedWhenFirstEventFails() throws Exception {
+        // Given
+        AccountEvent first = event(1L);
+        when(accountEventRepo.findUnpublished(any(Pageable.class))).thenReturn(List.of(first));
+        doThrow(new RuntimeException("broker down")).when(sink).publish(first);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(accountEventRepo, never()).markPublished(any());
+    }
+
+    @Test
+    void testPurgeDeletesPublishedEventsOlderThanRetention() {
+        // Given
+        Instant before = Instant.now().minusMillis(RETENTION_MS);
+
+        // When
+        outboxRelay.purge();
+
+        // Then
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(accountEventRepo).deletePublishedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+    }
+
+    private AccountEvent event(Long id) {
+        AccountEvent event = new AccountEvent(AccountEvent.Type.DEPOSIT, "123", null, new BigDecimal("10.00"), new BigDecimal("110.00"));
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.bankaccount.events;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
+import com.example.bankaccount.snapshot.LedgerRestoredEvent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SseAccountEventSinkTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountEventRepo accountEventRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<AccountEvent> saved = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        accountEventRepo.deleteAll(saved);
+    }
+
+    @Test
+    void testReconnectReplaysEventsAfterLastEventId() throws Exception {
+        // Given
+        long base = accountEventRepo.findMaxSequence();
+        save(base + 1, "sse-1");
+        save(base + 2, "sse-2");
+        save(base + 3, "sse-1");
+        save(base + 4, "sse-1");
+
+        // When
+        String stream = streamUntil("/accounts/sse-1/events", base + 1, "id:" + (base + 4));
+
+        // Then
+        assertFalse(stream.contains("id:" + (base + 1) + "\n"));
+        assertFalse(stream.contains("id:" + (base + 2) + "\n"));
+        assertTrue(stream.contains("id:" + (base + 3) + "\n"));
+        assertFalse(stream.contains(SseAccountEventSink.RESET_EVENT));
+    }
+
+    @Test
+    void testReconnectBehindRetentionGetsReset() throws Exception {
+        // Given
+        long base = accountEventRepo.findMaxSequence();
+        save(base + 1, "sse-1");
+        long oldest = accountEventRepo.findMinSequence();
+
+        // When
+        String stream = streamUntil("/accounts/events", oldest - 2, "event:" + SseAccountEventSink.RESET_EVENT);
+
+        // Then
+        assertTrue(stream.contains("id:" + (base + 1) + "\n"));
+        assertFalse(stream.contains("event:DEPOSIT"));
+    }
+
+    @Test
+    void testReconnectWithUnknownIdGetsReset() throws Exception {
+        // Given
+        long base = accountEventRepo.findMaxSequence();
+        save(base + 1, "sse-1");
+
+        // When
+        String stream = streamUntil("/accounts/events", base + 100, "event:" + SseAccountEventSink.RESET_EVENT);
+
+        // Then
+        assertTrue(stream.contains("id:" + (base + 1) + "\n"));
+    }
+
+    @Test
+    void testLedgerRestoreSendsResetToAllSubscribers() throws Exception {
+        // Given
+        MvcResult all = subscribe("/accounts/events", null);
+        MvcResult one = subscribe("/accounts/sse-1/events", null);
+
+        // When
+        eventPublisher.publishEvent(new LedgerRestoredEvent(Path.of("ledger.snapshot"), 10));
+
+        // Then
+        awaitStream(all, "event:" + SseAccountEventSink.RESET_EVENT);
+        awaitStream(one, "event:" + SseAccountEventSink.RESET_EVENT);
+    }
+
+    @Test
+    void testReconnectFromBeforeRestoreGetsReset() throws Exception {
+        // Given
+        long base = accountEventRepo.findMaxSequence();
+        save(base + 1, "sse-1");
+        eventPublisher.publishEvent(new LedgerRestoredEvent(Path.of("ledger.snapshot"), 10));
+        save(base + 2, "sse-1");
+
+        // When
+        String stream = streamUntil("/accounts/events", base, "event:" + SseAccountEventSink.RESET_EVENT);
+
+        // Then
+        assertFalse(stream.contains("event:DEPOSIT"));
+    }
+
+    private void save(long sequence, String accountNumber) {
+        AccountEvent event = new AccountEvent(AccountEvent.Type.DEPOSIT, accountNumber, null,
+                new BigDecimal("10.00"), new BigDecimal("110.00"));
+        event.setSequence(sequence);
+        event.setPublished(true);
+        saved.add(accountEventRepo.save(event));
+    }
+
+    private String streamUntil(String path, long lastEventId, String expected) throws Exception {
+        return awaitStream(subscribe(path, lastEventId), expected);
+    }
+
+    private MvcResult subscribe(String path, Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get(path);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String awaitStream(MvcResult result, String expected) throws Exception {
+        // Events are sent on a sender thread
+        long deadline = System.currentTimeMillis() + 5000;
+        String stream = result.getResponse().getContentAsString();
+        while (!stream.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            stream = result.getResponse().getContentAsString();
+        }
+        assertTrue(stream.contains(expected), stream);
+        return stream;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bankaccount.integrationtest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import com.example.bankaccount.model.Account;
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
+import com.example.bankaccount.repo.AccountRepo;
+import com.example.bankaccount.service.AccountService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class AccountEventOrderingIntegrationTest {
+
+    private static final int THREADS = 4;
+
+    private static final int DEPOSITS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountEventRepo accountEventRepo;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Test
+    public void testConcurrentDepositsRecordEventsOfOneAccountInCommitOrder() throws Exception {
+        // Given
+        String accountNumber = "ORDERING-1";
+        accountService.createAccount(new Account(accountNumber, BigDecimal.ZERO, "John", "Doe"));
+
+        // When: every deposit adds 1.00, so the n-th committed deposit leaves a balance of n
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                        accountService.deposit(accountNumber, BigDecimal.ONE);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Then: ordered by id, the events carry strictly increasing balances ending at the final one
+        List<AccountEvent> deposits = accountEventRepo.findAll(Sort.by("id")).stream()
+                .filter(event -> accountNumber.equals(event.getAccountNumber()))
+                .filter(event -> event.getType() == AccountEvent.Type.DEPOSIT)
+                .toList();
+        assertEquals(THREADS * DEPOSITS_PER_THREAD, deposits.size());
+        for (int i = 0; i < deposits.size(); i++) {
+            assertEquals(0, BigDecimal.valueOf(i + 1).compareTo(deposits.get(i).getBalance()));
+        }
+        // Read from the primary, getBalance may be served by the lagging replica
+        assertEquals(0, BigDecimal.valueOf(THREADS * DEPOSITS_PER_THREAD)
+                .compareTo(accountRepo.findById(accountNumber).orElseThrow().getBalance()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bankaccount.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void testItemExpiresAtItsTick() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 60, START);
+        List<String> expired = new ArrayList<>();
+        assertTrue(wheel.add("a", START + 5_000));
+
+        // When
+        wheel.advanceTo(START + 4_999, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+
+        // When
+        wheel.advanceTo(START + 5_000, expired::add);
+
+        // Then
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testItemBeyondFirstLevelCascadesDown() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 60, START);
+        List<String> expired = new ArrayList<>();
+        long due = START + 2 * 60 * 60 * 1000L + 30_000; // two hours and thirty seconds out
+        assertTrue(wheel.add("later", due));
+
+        // When
+        wheel.advanceTo(due - 1_000, expired::add);
+
+        // Then
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.size());
+
+        // When
+        wheel.advanceTo(due, expired::add);
+
+        // Then
+        assertEquals(List.of("later"), expired);
+    }
+
+    @Test
+    void testItemsExpireInDueOrder() {
+        // Given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1000, 60, START);
+        List<Integer> expired = new ArrayList<>();
+        wheel.add(3, START + 3_600_000);
+        wheel.add(1, START + 2_000);
+        wheel.add(2, START + 90_000);
+
+        // When
+        wheel.advanceTo(START + 4_000_000, expired::add);
+
+        // Then
+        assertEquals(List.of(1, 2, 3), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAlreadyDueItemIsRejected() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 60, START);
+
+        // When & Then
+        assertFalse(wheel.add("overdue", START - 10_000));
+        assertFalse(wheel.add("now", START + 500));
+        assertEquals(0, wheel.size());
+    }
+}
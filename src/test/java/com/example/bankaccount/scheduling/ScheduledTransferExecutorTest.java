@@ -0,0 +1,168 @@
+package com.example.bankaccount.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.bankaccount.exceptions.InsufficientFundsException;
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+import com.example.bankaccount.service.AccountService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+class ScheduledTransferExecutorTest {
+
+    @Mock
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduledTransferExecutor = new ScheduledTransferExecutor(scheduledTransferRepo, accountService, transactionManager);
+    }
+
+    @Test
+    void testOneOffTransferCompletesOnSuccess() {
+        // Given
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.ONCE, Instant.now().minusSeconds(1));
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        assertNull(next);
+        assertEquals(ScheduledTransfer.Status.COMPLETED, transfer.getStatus());
+        verify(accountService, times(1)).transfer("123", "456", new BigDecimal("50.00"));
+    }
+
+    @Test
+    void testOneOffTransferFailsOnAccountError() {
+        // Given
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.ONCE, Instant.now().minusSeconds(1));
+        when(accountService.transfer(any(), any(), any())).thenThrow(new InsufficientFundsException("Insufficient funds in the source account"));
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        assertNull(next);
+        assertEquals(ScheduledTransfer.Status.FAILED, transfer.getStatus());
+        assertEquals("Insufficient funds in the source account", transfer.getLastError());
+    }
+
+    @Test
+    void testStandingOrderSkipsFailedOccurrence() {
+        // Given
+        Instant due = Instant.now().minusSeconds(1);
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.DAILY, due);
+        when(accountService.transfer(any(), any(), any())).thenThrow(new InsufficientFundsException("Insufficient funds in the source account"));
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        assertEquals(due.plus(Duration.ofDays(1)), next);
+        assertEquals(ScheduledTransfer.Status.ACTIVE, transfer.getStatus());
+        assertEquals(1, transfer.getOccurrence());
+        assertEquals(next, transfer.getNextExecutionAt());
+        assertEquals("Insufficient funds in the source account", transfer.getLastError());
+    }
+
+    @Test
+    void testStandingOrderPaysOnceAfterDowntimeAndSkipsMissedOccurrences() {
+        // Given: a daily order that was due ten days ago
+        Instant first = Instant.now().minus(Duration.ofDays(10)).minusSeconds(60);
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.DAILY, first);
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        verify(accountService, times(1)).transfer(any(), any(), any());
+        assertEquals(first.plus(Duration.ofDays(11)), next);
+        assertEquals(11, transfer.getOccurrence());
+        assertTrue(next.isAfter(Instant.now()));
+    }
+
+    @Test
+    void testStandingOrderAnchoredFarInThePastAdvancesInOneStep() {
+        // Given
+        Instant first = Instant.parse("-10000000-01-01T00:00:00Z");
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.DAILY, first);
+
+        // When
+        Instant next = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> scheduledTransferExecutor.execute(1L));
+
+        // Then
+        verify(accountService, times(1)).transfer(any(), any(), any());
+        assertTrue(next.isAfter(Instant.now()));
+        assertTrue(next.isBefore(Instant.now().plus(Duration.ofDays(1))));
+        assertEquals(first.plus(Duration.ofDays(transfer.getOccurrence())), next);
+    }
+
+    @Test
+    void testCancelledTransferIsNotExecuted() {
+        // Given
+        ScheduledTransfer transfer = transfer(ScheduledTransfer.Frequency.ONCE, Instant.now().minusSeconds(1));
+        transfer.setStatus(ScheduledTransfer.Status.CANCELLED);
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        assertNull(next);
+        verify(accountService, never()).transfer(any(), any(), any());
+    }
+
+    @Test
+    void testTransferNotYetDueIsNotExecuted() {
+        // Given
+        Instant due = Instant.now().plusSeconds(3600);
+        transfer(ScheduledTransfer.Frequency.ONCE, due);
+
+        // When
+        Instant next = scheduledTransferExecutor.execute(1L);
+
+        // Then
+        assertEquals(due, next);
+        verify(accountService, never()).transfer(any(), any(), any());
+    }
+
+    @Test
+    void testUnknownTransferIsIgnored() {
+        // Given
+        when(scheduledTransferRepo.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertNull(scheduledTransferExecutor.execute(1L));
+        verify(accountService, never()).transfer(any(), any(), any());
+    }
+
+    private ScheduledTransfer transfer(ScheduledTransfer.Frequency frequency, Instant firstExecutionAt) {
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"), frequency, firstExecutionAt);
+        transfer.setId(1L);
+        when(scheduledTransferRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(transfer));
+        return transfer;
+    }
+}
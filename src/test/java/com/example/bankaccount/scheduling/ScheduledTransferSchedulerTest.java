@@ -0,0 +1,171 @@
+package com.example.bankaccount.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+class ScheduledTransferSchedulerTest {
+
+    private static final long TICK_MS = 1000;
+
+    private static final long HORIZON_MS = 600_000;
+
+    @Mock
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    @Mock
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testTickExecutesAtMostBatchSize() {
+        // Given
+        ScheduledTransferScheduler scheduler = scheduler(0, 2);
+        List<ScheduledTransferRepo.DueTransfer> overdue = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            overdue.add(due(id, Instant.now().minusSeconds(60)));
+        }
+        returnOnFirstLoad(overdue);
+        scheduler.loadDueTransfers();
+
+        // When
+        scheduler.tick();
+
+        // Then
+        verify(scheduledTransferExecutor, times(2)).execute(anyLong());
+
+        // When
+        scheduler.tick();
+        scheduler.tick();
+
+        // Then
+        verify(scheduledTransferExecutor, times(5)).execute(anyLong());
+    }
+
+    @Test
+    void testTransferLoadedTwiceIsTrackedOnce() {
+        // Given
+        ScheduledTransferScheduler scheduler = scheduler(0, 10);
+        when(scheduledTransferRepo.findDue(any(), any(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(due(1L, Instant.now().minusSeconds(60))));
+        scheduler.loadDueTransfers();
+        scheduler.loadDueTransfers();
+        scheduler.onTransferScheduled(new TransferScheduledEvent(1L, Instant.now().minusSeconds(60)));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        verify(scheduledTransferExecutor, times(1)).execute(1L);
+    }
+
+    @Test
+    void testLoadWindowsContinueFromLoadedUntil() {
+        // Given
+        ScheduledTransferScheduler scheduler = scheduler(0, 10);
+        when(scheduledTransferRepo.findDue(any(), any(), any(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+        long before = System.currentTimeMillis();
+
+        // When
+        scheduler.loadDueTransfers();
+        scheduler.loadDueTransfers();
+
+        // Then
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+        verify(scheduledTransferRepo, times(2)).findDue(eq(ScheduledTransfer.Status.ACTIVE), from.capture(), until.capture(),
+                anyLong(), any(Pageable.class));
+        assertEquals(Instant.EPOCH, from.getAllValues().get(0));
+        assertTrue(until.getAllValues().get(0).toEpochMilli() >= before + HORIZON_MS);
+        assertEquals(until.getAllValues().get(0), from.getAllValues().get(1));
+    }
+
+    @Test
+    void testTransferDueBeyondHorizonIsLeftToLoader() {
+        // Given
+        ScheduledTransferScheduler scheduler = scheduler(0, 10);
+        scheduler.onTransferScheduled(new TransferScheduledEvent(1L, Instant.now().plusMillis(HORIZON_MS * 2)));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        verify(scheduledTransferExecutor, never()).execute(anyLong());
+    }
+
+    @Test
+    void testRecurringTransferIsTrackedAgainAfterExecution() {
+        // Given
+        ScheduledTransferScheduler scheduler = scheduler(0, 10);
+        when(scheduledTransferExecutor.execute(1L)).thenReturn(Instant.now().minusSeconds(1), (Instant) null);
+        scheduler.onTransferScheduled(new TransferScheduledEvent(1L, Instant.now().minusSeconds(60)));
+
+        // When
+        scheduler.tick();
+        scheduler.tick();
+
+        // Then
+        verify(scheduledTransferExecutor, times(2)).execute(1L);
+    }
+
+    @Test
+    void testSpreadOffsetIsStableAndWithinWindow() {
+        // Given
+        long spreadMs = 60_000;
+        ScheduledTransferScheduler scheduler = scheduler(spreadMs, 10);
+
+        // When & Then
+        for (long id = 1; id <= 1000; id++) {
+            long offset = scheduler.spreadOffset(id);
+            assertEquals(offset, scheduler.spreadOffset(id));
+            assertTrue(offset >= 0 && offset < spreadMs);
+        }
+        assertEquals(0, scheduler(0, 10).spreadOffset(42L));
+    }
+
+    private ScheduledTransferScheduler scheduler(long spreadMs, int batchSize) {
+        return new ScheduledTransferScheduler(scheduledTransferRepo, scheduledTransferExecutor, TICK_MS, HORIZON_MS,
+                spreadMs, batchSize);
+    }
+
+    private void returnOnFirstLoad(List<ScheduledTransferRepo.DueTransfer> transfers) {
+        when(scheduledTransferRepo.findDue(any(), any(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(transfers)
+                .thenReturn(List.of());
+    }
+
+    private ScheduledTransferRepo.DueTransfer due(Long id, Instant nextExecutionAt) {
+        return new ScheduledTransferRepo.DueTransfer() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getNextExecutionAt() {
+                return nextExecutionAt;
+            }
+        };
+    }
+}
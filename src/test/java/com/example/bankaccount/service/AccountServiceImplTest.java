@@ -11,14 +11,19 @@ import com.example.bankaccount.exceptions.InsufficientFundsException;
 import com.example.bankaccount.exceptions.InvalidAccountException;
 import com.example.bankaccount.exceptions.InvalidTransferException;
 import com.example.bankaccount.model.Account;
+import com.example.bankaccount.model.AccountEvent;
+import com.example.bankaccount.repo.AccountEventRepo;
 import com.example.bankaccount.repo.AccountRepo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.Optional;
 import java.math.BigDecimal;
 
@@ -27,6 +32,9 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepo accountRepo;
 
+    @Mock
+    private AccountEventRepo accountEventRepo;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -92,6 +100,11 @@ class AccountServiceImplTest {
         assertEquals(new BigDecimal("100.00"), createdAccount.getBalance());
         assertEquals("John", createdAccount.getFirstName());
         assertEquals("Doe", createdAccount.getLastName());
+
+        ArgumentCaptor<AccountEvent> eventCaptor = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(accountEventRepo, times(1)).save(eventCaptor.capture());
+        assertEquals(AccountEvent.Type.ACCOUNT_CREATED, eventCaptor.getValue().getType());
+        assertEquals(new BigDecimal("100.00"), eventCaptor.getValue().getBalance());
     }
 
     @Test
@@ -133,8 +146,8 @@ class AccountServiceImplTest {
         Account sourceAccount = new Account(sourceAccountNumber, sourceInitialBalance, "John", "Doe");
         Account destinationAccount = new Account(destinationAccountNumber, destinationInitialBalance, "Jane", "Roe");
 
-        when(accountRepo.findById(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepo.findById(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
+        when(accountRepo.findByIdForUpdate(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
 
         // When
         BigDecimal newSourceBalance = accountService.transfer(sourceAccountNumber, destinationAccountNumber, transferAmount);
@@ -145,6 +158,53 @@ class AccountServiceImplTest {
 
         verify(accountRepo, times(1)).save(sourceAccount);
         verify(accountRepo, times(1)).save(destinationAccount);
+
+        ArgumentCaptor<AccountEvent> eventCaptor = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(accountEventRepo, times(2)).save(eventCaptor.capture());
+        List<AccountEvent> events = eventCaptor.getAllValues();
+        assertEquals(AccountEvent.Type.TRANSFER_DEBIT, events.get(0).getType());
+        assertEquals(sourceAccountNumber, events.get(0).getAccountNumber());
+        assertEquals(new BigDecimal("100.00"), events.get(0).getBalance());
+        assertEquals(AccountEvent.Type.TRANSFER_CREDIT, events.get(1).getType());
+        assertEquals(destinationAccountNumber, events.get(1).getAccountNumber());
+        assertEquals(new BigDecimal("250.00"), events.get(1).getBalance());
+    }
+
+    @Test
+    void testTransferLocksAccountsInAccountNumberOrderBeforeRecordingEvents() throws Exception {
+        // Given
+        Account sourceAccount = new Account("456", new BigDecimal("200.00"), "John", "Doe");
+        Account destinationAccount = new Account("123", new BigDecimal("150.00"), "Jane", "Roe");
+
+        when(accountRepo.findByIdForUpdate("456")).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate("123")).thenReturn(Optional.of(destinationAccount));
+
+        // When
+        accountService.transfer("456", "123", new BigDecimal("100.00"));
+
+        // Then
+        InOrder inOrder = inOrder(accountRepo, accountEventRepo);
+        inOrder.verify(accountRepo).findByIdForUpdate("123");
+        inOrder.verify(accountRepo).findByIdForUpdate("456");
+        inOrder.verify(accountEventRepo, times(2)).save(any(AccountEvent.class));
+    }
+
+    @Test
+    void testFailedTransferRecordsNoEvents() {
+        // Given
+        Account sourceAccount = new Account("123", new BigDecimal("50.00"), "John", "Doe");
+        Account destinationAccount = new Account("456", new BigDecimal("150.00"), "Jane", "Roe");
+
+        when(accountRepo.findByIdForUpdate("123")).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate("456")).thenReturn(Optional.of(destinationAccount));
+
+        // When
+        assertThrows(InsufficientFundsException.class, () ->
+            accountService.transfer("123", "456", new BigDecimal("100.00"))
+        );
+
+        // Then
+        verify(accountEventRepo, never()).save(any(AccountEvent.class));
     }
 
     @Test
@@ -159,8 +219,8 @@ class AccountServiceImplTest {
         Account sourceAccount = new Account(sourceAccountNumber, sourceInitialBalance, "John", "Doe");
         Account destinationAccount = new Account(destinationAccountNumber, destinationInitialBalance, "Jane", "Roe");
 
-        when(accountRepo.findById(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepo.findById(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
+        when(accountRepo.findByIdForUpdate(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
 
         // When & Then
         assertThrows(InsufficientFundsException.class, () -> 
@@ -175,7 +235,7 @@ class AccountServiceImplTest {
         String destinationAccountNumber = "456";
         BigDecimal transferAmount = new BigDecimal("50.00");
 
-        when(accountRepo.findById(sourceAccountNumber)).thenReturn(Optional.empty()); // Source account not found
+        when(accountRepo.findByIdForUpdate(sourceAccountNumber)).thenReturn(Optional.empty()); // Source account not found
 
         // When & Then
         assertThrows(InvalidAccountException.class, () -> 
@@ -193,8 +253,8 @@ class AccountServiceImplTest {
 
         Account sourceAccount = new Account(sourceAccountNumber, sourceInitialBalance, "John", "Doe");
 
-        when(accountRepo.findById(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepo.findById(destinationAccountNumber)).thenReturn(Optional.empty()); // Destination account not found
+        when(accountRepo.findByIdForUpdate(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate(destinationAccountNumber)).thenReturn(Optional.empty()); // Destination account not found
 
         // When & Then
         assertThrows(InvalidAccountException.class, () -> 
@@ -211,7 +271,7 @@ class AccountServiceImplTest {
 
         Account account = new Account(accountNumber, initialBalance, "John", "Doe");
 
-        when(accountRepo.findById(accountNumber)).thenReturn(Optional.of(account));
+        when(accountRepo.findByIdForUpdate(accountNumber)).thenReturn(Optional.of(account));
 
         // When & Then
         assertThrows(InvalidTransferException.class, () -> 
@@ -231,8 +291,8 @@ class AccountServiceImplTest {
         Account sourceAccount = new Account(sourceAccountNumber, sourceInitialBalance, "John", "Doe");
         Account destinationAccount = new Account(destinationAccountNumber, destinationInitialBalance, "Jane", "Roe");
 
-        when(accountRepo.findById(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
-        when(accountRepo.findById(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
+        when(accountRepo.findByIdForUpdate(sourceAccountNumber)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepo.findByIdForUpdate(destinationAccountNumber)).thenReturn(Optional.of(destinationAccount));
 
         // When & Then
         assertThrows(InvalidTransferException.class, () -> 
@@ -248,7 +308,7 @@ class AccountServiceImplTest {
         BigDecimal depositAmount = new BigDecimal("100.00");
 
         Account account = new Account(accountNumber, initialBalance, "John", "Doe");
-        when(accountRepo.findById(accountNumber)).thenReturn(java.util.Optional.of(account));
+        when(accountRepo.findByIdForUpdate(accountNumber)).thenReturn(java.util.Optional.of(account));
 
         // When
         BigDecimal newBalance = accountService.deposit(accountNumber, depositAmount);
@@ -258,6 +318,12 @@ class AccountServiceImplTest {
         assertEquals(initialBalance.add(depositAmount), account.getBalance());
 
         verify(accountRepo, times(1)).save(account);
+
+        ArgumentCaptor<AccountEvent> eventCaptor = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(accountEventRepo, times(1)).save(eventCaptor.capture());
+        assertEquals(AccountEvent.Type.DEPOSIT, eventCaptor.getValue().getType());
+        assertEquals(depositAmount, eventCaptor.getValue().getAmount());
+        assertEquals(initialBalance.add(depositAmount), eventCaptor.getValue().getBalance());
     }
 
     @Test
@@ -266,7 +332,7 @@ class AccountServiceImplTest {
         String accountNumber = "123";
         BigDecimal depositAmount = new BigDecimal("100.00");
 
-        when(accountRepo.findById(accountNumber)).thenReturn(Optional.empty()); // Account not found
+        when(accountRepo.findByIdForUpdate(accountNumber)).thenReturn(Optional.empty()); // Account not found
 
         // When & Then
         assertThrows(InvalidAccountException.class, () -> 
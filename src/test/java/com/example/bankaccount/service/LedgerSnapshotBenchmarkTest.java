@@ -0,0 +1,95 @@
+package com.example.bankaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.bankaccount.datasource.ReplicaWatermark;
+import com.example.bankaccount.datasource.ReplicationStandIn;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Times export and restore of a generated ledger. The read replica is copied in the background
+ * after every restore, each run waits for that copy so runs do not compete with each other.
+ * Skipped unless a size is given, e.g.
+ * {@code mvn test -Dtest=LedgerSnapshotBenchmarkTest -Dledger.benchmark.accounts=1000000}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "ledger.benchmark.accounts", matches = "\\d+")
+class LedgerSnapshotBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSnapshotBenchmarkTest.class);
+
+    private static final int RUNS = 3;
+
+    private static final long SEED_CHUNK = 100_000;
+
+    @Autowired
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaWatermark replicaWatermark;
+
+    @Autowired(required = false) // absent with bankaccount.replication.stand-in=false
+    private ReplicationStandIn replicationStandIn;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void benchmarkExportAndRestore() throws InterruptedException {
+        long accounts = Long.getLong("ledger.benchmark.accounts");
+        Path seeded = tempDir.resolve("seeded.snapshot");
+        long seededAccounts = ledgerSnapshotService.exportSnapshot(seeded);
+        try {
+            // Given
+            // Each statement commits on its own, one transaction for millions of rows would dominate the run
+            for (long from = 1; from <= accounts; from += SEED_CHUNK) {
+                jdbcTemplate.update("INSERT INTO accounts (account_number, balance, first_name, last_name) "
+                        + "SELECT 'B' || LPAD(X, 10, '0'), (X % 1000000) / 100.0, 'First' || X, 'Last' || X "
+                        + "FROM SYSTEM_RANGE(?, ?)", from, Math.min(from + SEED_CHUNK - 1, accounts));
+            }
+            Path file = tempDir.resolve("benchmark.snapshot");
+            awaitReplica();
+
+            for (int run = 1; run <= RUNS; run++) {
+                // When
+                long start = System.nanoTime();
+                long exported = ledgerSnapshotService.exportSnapshot(file);
+                long exportMs = (System.nanoTime() - start) / 1_000_000;
+                start = System.nanoTime();
+                long imported = ledgerSnapshotService.importSnapshot(file);
+                long importMs = (System.nanoTime() - start) / 1_000_000;
+
+                // Then
+                assertEquals(accounts + seededAccounts, exported);
+                assertEquals(exported, imported);
+                log.info("Run {}: exported {} accounts in {} ms, restored in {} ms", run, exported, exportMs, importMs);
+                // The next run must not compete with this restore's replica copy
+                long replicaMs = awaitReplica();
+                log.info("Run {}: read replica caught up {} ms after the restore", run, replicaMs);
+            }
+        } finally {
+            ledgerSnapshotService.importSnapshot(seeded);
+        }
+    }
+
+    private long awaitReplica() throws InterruptedException {
+        long start = System.nanoTime();
+        while (replicationStandIn != null && !replicaWatermark.isCaughtUpTo(0)) {
+            Thread.sleep(50);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
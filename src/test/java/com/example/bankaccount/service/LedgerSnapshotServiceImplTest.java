@@ -0,0 +1,102 @@
+package com.example.bankaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.bankaccount.exceptions.SnapshotException;
+import com.example.bankaccount.model.Account;
+import com.example.bankaccount.repo.AccountRepo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+@SpringBootTest
+class LedgerSnapshotServiceImplTest {
+
+    @Autowired
+    private LedgerSnapshotService ledgerSnapshotService;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExportAndRestoreRoundTrip() {
+        // Given
+        List<Account> before = sortedAccounts();
+        Path file = tempDir.resolve("ledger.snapshot");
+
+        // When
+        long exported = ledgerSnapshotService.exportSnapshot(file);
+        long imported = ledgerSnapshotService.importSnapshot(file);
+
+        // Then
+        assertEquals(before.size(), exported);
+        assertEquals(exported, imported);
+        assertSameAccounts(before, sortedAccounts());
+    }
+
+    @Test
+    void testTruncatedSnapshotLeavesLedgerUntouched() throws Exception {
+        // Given
+        List<Account> before = sortedAccounts();
+        Path file = tempDir.resolve("ledger.snapshot");
+        ledgerSnapshotService.exportSnapshot(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() / 2);
+        }
+
+        // When & Then
+        assertThrows(SnapshotException.class, () -> ledgerSnapshotService.importSnapshot(file));
+        assertSameAccounts(before, sortedAccounts());
+    }
+
+    @Test
+    void testCorruptColumnDataRollsBackRestore() throws Exception {
+        // Given: an account number length pointing past the end of its column
+        List<Account> before = sortedAccounts();
+        Path file = tempDir.resolve("ledger.snapshot");
+        ledgerSnapshotService.exportSnapshot(file);
+        byte[] bytes = Files.readAllBytes(file);
+        int firstColumnOffset = 4 + 4 + 8 + 4 + 4 + 4 * 16;
+        bytes[firstColumnOffset] = (byte) 0x7F;
+        bytes[firstColumnOffset + 1] = (byte) 0xFF;
+        Files.write(file, bytes);
+
+        // When & Then
+        assertThrows(SnapshotException.class, () -> ledgerSnapshotService.importSnapshot(file));
+        assertSameAccounts(before, sortedAccounts());
+    }
+
+    @Test
+    void testImportOfMissingFileFails() {
+        // When & Then
+        assertThrows(SnapshotException.class, () -> ledgerSnapshotService.importSnapshot(tempDir.resolve("missing")));
+    }
+
+    private List<Account> sortedAccounts() {
+        List<Account> accounts = accountRepo.findAll();
+        accounts.sort(Comparator.comparing(Account::getAccountNumber));
+        return accounts;
+    }
+
+    private void assertSameAccounts(List<Account> expected, List<Account> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getAccountNumber(), actual.get(i).getAccountNumber());
+            assertEquals(0, expected.get(i).getBalance().compareTo(actual.get(i).getBalance()));
+            assertEquals(expected.get(i).getFirstName(), actual.get(i).getFirstName());
+            assertEquals(expected.get(i).getLastName(), actual.get(i).getLastName());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.bankaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.bankaccount.exceptions.AccountException;
+import com.example.bankaccount.exceptions.InvalidAccountException;
+import com.example.bankaccount.exceptions.InvalidTransferException;
+import com.example.bankaccount.exceptions.ScheduledTransferNotFoundException;
+import com.example.bankaccount.model.ScheduledTransfer;
+import com.example.bankaccount.repo.AccountRepo;
+import com.example.bankaccount.repo.ScheduledTransferRepo;
+import com.example.bankaccount.scheduling.TransferScheduledEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+class ScheduledTransferServiceImplTest {
+
+    @Mock
+    private ScheduledTransferRepo scheduledTransferRepo;
+
+    @Mock
+    private AccountRepo accountRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ScheduledTransferServiceImpl scheduledTransferService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testScheduleTransferSuccess() {
+        // Given
+        Instant executeAt = Instant.now().plus(Duration.ofDays(30));
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"), null, executeAt);
+        when(accountRepo.existsById("123")).thenReturn(true);
+        when(accountRepo.existsById("456")).thenReturn(true);
+        when(scheduledTransferRepo.save(any(ScheduledTransfer.class))).thenAnswer(invocation -> {
+            ScheduledTransfer saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // When
+        ScheduledTransfer savedTransfer = scheduledTransferService.scheduleTransfer(transfer);
+
+        // Then
+        assertEquals(1L, savedTransfer.getId());
+        assertEquals(ScheduledTransfer.Status.ACTIVE, savedTransfer.getStatus());
+        assertEquals(ScheduledTransfer.Frequency.ONCE, savedTransfer.getFrequency());
+        assertEquals(executeAt, savedTransfer.getFirstExecutionAt());
+        assertEquals(0, savedTransfer.getOccurrence());
+        verify(eventPublisher, times(1)).publishEvent(new TransferScheduledEvent(1L, executeAt));
+    }
+
+    @Test
+    void testScheduleTransferWithMissingData() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"), null, null);
+
+        // When & Then
+        assertThrows(AccountException.class, () -> scheduledTransferService.scheduleTransfer(transfer));
+        verify(scheduledTransferRepo, never()).save(any(ScheduledTransfer.class));
+    }
+
+    @Test
+    void testScheduleTransferWithNegativeAmount() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("-50.00"),
+            ScheduledTransfer.Frequency.MONTHLY, Instant.now());
+
+        // When & Then
+        assertThrows(InvalidTransferException.class, () -> scheduledTransferService.scheduleTransfer(transfer));
+    }
+
+    @Test
+    void testScheduleTransferToSelfFails() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "123", new BigDecimal("50.00"),
+            ScheduledTransfer.Frequency.MONTHLY, Instant.now());
+
+        // When & Then
+        assertThrows(InvalidTransferException.class, () -> scheduledTransferService.scheduleTransfer(transfer));
+    }
+
+    @Test
+    void testScheduleTransferInThePastFails() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"),
+            ScheduledTransfer.Frequency.DAILY, Instant.parse("-10000000-01-01T00:00:00Z"));
+        when(accountRepo.existsById(any())).thenReturn(true);
+
+        // When & Then
+        assertThrows(InvalidTransferException.class, () -> scheduledTransferService.scheduleTransfer(transfer));
+        verify(scheduledTransferRepo, never()).save(any(ScheduledTransfer.class));
+    }
+
+    @Test
+    void testScheduleTransferWithInvalidDestinationAccount() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"),
+            ScheduledTransfer.Frequency.WEEKLY, Instant.now().plusSeconds(3600));
+        when(accountRepo.existsById("123")).thenReturn(true);
+        when(accountRepo.existsById("456")).thenReturn(false);
+
+        // When & Then
+        assertThrows(InvalidAccountException.class, () -> scheduledTransferService.scheduleTransfer(transfer));
+    }
+
+    @Test
+    void testCancelScheduledTransfer() {
+        // Given
+        ScheduledTransfer transfer = new ScheduledTransfer("123", "456", new BigDecimal("50.00"),
+            ScheduledTransfer.Frequency.DAILY, Instant.now());
+        when(scheduledTransferRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(transfer));
+
+        // When
+        ScheduledTransfer cancelledTransfer = scheduledTransferService.cancelScheduledTransfer(1L);
+
+        // Then
+        assertEquals(ScheduledTransfer.Status.CANCELLED, cancelledTransfer.getStatus());
+    }
+
+    @Test
+    void testCancelUnknownScheduledTransfer() {
+        // Given
+        when(scheduledTransferRepo.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ScheduledTransferNotFoundException.class, () -> scheduledTransferService.cancelScheduledTransfer(1L));
+    }
+
+    @Test
+    void testMonthlyFrequencyKeepsDayOfMonth() {
+        // Given
+        Instant anchor = Instant.parse("2026-01-31T00:00:00Z");
+
+        // When & Then
+        assertEquals(anchor, ScheduledTransfer.Frequency.MONTHLY.occurrence(anchor, 0));
+        assertEquals(Instant.parse("2026-02-28T00:00:00Z"), ScheduledTransfer.Frequency.MONTHLY.occurrence(anchor, 1));
+        assertEquals(Instant.parse("2026-03-31T00:00:00Z"), ScheduledTransfer.Frequency.MONTHLY.occurrence(anchor, 2));
+        assertEquals(Instant.parse("2026-04-30T00:00:00Z"), ScheduledTransfer.Frequency.MONTHLY.occurrence(anchor, 3));
+    }
+
+    @Test
+    void testMonthlyFirstOccurrenceAfterAccountsForShortMonths() {
+        // Given
+        Instant anchor = Instant.parse("2026-01-31T00:00:00Z");
+
+        // When & Then
+        assertEquals(1, ScheduledTransfer.Frequency.MONTHLY.firstOccurrenceAfter(anchor, 1, Instant.parse("2026-02-27T00:00:00Z")));
+        assertEquals(2, ScheduledTransfer.Frequency.MONTHLY.firstOccurrenceAfter(anchor, 1, Instant.parse("2026-02-28T00:00:00Z")));
+        assertEquals(3, ScheduledTransfer.Frequency.MONTHLY.firstOccurrenceAfter(anchor, 1, Instant.parse("2026-03-31T12:00:00Z")));
+    }
+
+    @Test
+    void testOneOffFrequencyHasSingleOccurrence() {
+        // Given
+        Instant anchor = Instant.parse("2026-01-31T00:00:00Z");
+
+        // When & Then
+        assertEquals(anchor, ScheduledTransfer.Frequency.ONCE.occurrence(anchor, 0));
+        assertNull(ScheduledTransfer.Frequency.ONCE.occurrence(anchor, 1));
+    }
+}
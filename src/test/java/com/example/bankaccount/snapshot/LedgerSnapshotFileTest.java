@@ -0,0 +1,142 @@
+package com.example.bankaccount.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.bankaccount.model.Account;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class LedgerSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws Exception {
+        // Given
+        Path file = tempDir.resolve("ledger.snapshot");
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            writer.add("100001", new BigDecimal("1200.00"), "Mads", "Jensen");
+            writer.add("100002", new BigDecimal("-0.5"), "Søren", "Kierkegaard");
+            writer.add("100003", null, null, "Hansen");
+            assertEquals(3, writer.finish());
+        }
+
+        // When
+        List<Account> accounts = new ArrayList<>();
+        long rows = LedgerSnapshotReader.read(file, (accountNumber, balance, firstName, lastName) ->
+            accounts.add(new Account(accountNumber, balance, firstName, lastName))
+        );
+
+        // Then
+        assertEquals(3, rows);
+        assertEquals("100001", accounts.get(0).getAccountNumber());
+        assertEquals(new BigDecimal("1200.00"), accounts.get(0).getBalance());
+        assertEquals("Mads", accounts.get(0).getFirstName());
+        assertEquals("Jensen", accounts.get(0).getLastName());
+        assertEquals(new BigDecimal("-0.50"), accounts.get(1).getBalance());
+        assertEquals("Søren", accounts.get(1).getFirstName());
+        assertNull(accounts.get(2).getBalance());
+        assertNull(accounts.get(2).getFirstName());
+        assertEquals("Hansen", accounts.get(2).getLastName());
+    }
+
+    @Test
+    void testTemporaryColumnFilesAreRemoved() throws Exception {
+        // Given
+        Path file = tempDir.resolve("ledger.snapshot");
+
+        // When
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            writer.add("100001", new BigDecimal("10.00"), "Mads", "Jensen");
+            writer.finish();
+        }
+
+        // Then
+        try (var files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testFailedFinishLeavesNoTemporaryFiles() throws Exception {
+        // Given: a non-empty directory in place of the target, so the final move fails
+        Path target = tempDir.resolve("ledger.snapshot");
+        Files.createDirectory(target);
+        Files.write(target.resolve("blocker"), new byte[1]);
+
+        // When
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(target)) {
+            writer.add("100001", new BigDecimal("10.00"), "Mads", "Jensen");
+            assertThrows(IOException.class, writer::finish);
+        }
+
+        // Then
+        try (var files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testBalanceWithTooManyDecimalsIsRejected() throws Exception {
+        // Given
+        Path file = tempDir.resolve("ledger.snapshot");
+
+        // When & Then
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            assertThrows(ArithmeticException.class, () -> writer.add("100001", new BigDecimal("1.005"), "Mads", "Jensen"));
+        }
+    }
+
+    @Test
+    void testReadRejectsForeignFile() throws Exception {
+        // Given
+        Path file = tempDir.resolve("not-a-snapshot");
+        Files.write(file, new byte[128]);
+
+        // When & Then
+        assertThrows(IOException.class, () -> LedgerSnapshotReader.read(file, (accountNumber, balance, firstName, lastName) -> { }));
+    }
+
+    @Test
+    void testCheckCountsRowsOfIntactFile() throws Exception {
+        // Given
+        Path file = tempDir.resolve("ledger.snapshot");
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            writer.add("100001", new BigDecimal("1200.00"), "Mads", "Jensen");
+            writer.add("100002", null, null, null);
+            writer.finish();
+        }
+
+        // When & Then
+        assertEquals(2, LedgerSnapshotReader.check(file));
+    }
+
+    @Test
+    void testCheckRejectsStringRunningPastItsColumn() throws Exception {
+        // Given: the last name of the only row claims one byte more than its column holds
+        Path file = tempDir.resolve("ledger.snapshot");
+        try (LedgerSnapshotWriter writer = new LedgerSnapshotWriter(file)) {
+            writer.add("100001", new BigDecimal("1200.00"), "Mads", "Jensen");
+            writer.finish();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int lastNameOffset = bytes.length - 2 - "Jensen".length();
+        bytes[lastNameOffset + 1] = (byte) ("Jensen".length() + 1);
+        Files.write(file, bytes);
+
+        // When & Then
+        assertThrows(IOException.class, () -> LedgerSnapshotReader.check(file));
+    }
+}